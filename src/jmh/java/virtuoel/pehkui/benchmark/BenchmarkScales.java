@@ -0,0 +1,90 @@
+package virtuoel.pehkui.benchmark;
+
+import net.minecraft.util.Identifier;
+import virtuoel.pehkui.api.ScaleData;
+import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.api.ScaleRegistries;
+import virtuoel.pehkui.api.ScaleType;
+
+/**
+ * Scale types and modifiers registered only for benchmarks.
+ * <p>They have no default modifiers, so their scale data works without an entity and without Pehkui's config being loaded.
+ */
+final class BenchmarkScales
+{
+	static final String NAMESPACE = "pehkui_benchmark";
+	
+	static final int MAX_TYPES = 32;
+	static final int MAX_MODIFIERS = 64;
+	
+	static final ScaleType[] TYPES = new ScaleType[MAX_TYPES];
+	static final ScaleModifier[] MODIFIERS = new ScaleModifier[MAX_MODIFIERS];
+	
+	static
+	{
+		for (int i = 0; i < MAX_TYPES; i++)
+		{
+			TYPES[i] = ScaleRegistries.register(
+				ScaleRegistries.SCALE_TYPES,
+				new Identifier(NAMESPACE, "type_" + i),
+				ScaleType.Builder.create().build()
+			);
+		}
+		
+		for (int i = 0; i < MAX_MODIFIERS; i++)
+		{
+			MODIFIERS[i] = ScaleRegistries.register(
+				ScaleRegistries.SCALE_MODIFIERS,
+				new Identifier(NAMESPACE, "multiplier_" + i),
+				new MultiplyingScaleModifier(i)
+			);
+		}
+	}
+	
+	/**
+	 * @return Entity-less scale data for the first {@code count} benchmark types, each with a chain of {@code modifiers} modifiers
+	 */
+	static ScaleData[] create(final int count, final int modifiers)
+	{
+		final ScaleData[] data = new ScaleData[count];
+		
+		for (int i = 0; i < count; i++)
+		{
+			data[i] = ScaleData.Builder.create().type(TYPES[i]).build();
+			
+			for (int j = 0; j < modifiers; j++)
+			{
+				data[i].getBaseValueModifiers().add(MODIFIERS[j]);
+			}
+			
+			data[i].setScale(1.5F);
+		}
+		
+		return data;
+	}
+	
+	private static final class MultiplyingScaleModifier extends ScaleModifier
+	{
+		private MultiplyingScaleModifier(final int index)
+		{
+			super(index);
+		}
+		
+		@Override
+		public float modifyScale(final ScaleData scaleData, final float modifiedScale, final float delta)
+		{
+			return modifiedScale * 1.0001F;
+		}
+		
+		@Override
+		public float modifyPrevScale(final ScaleData scaleData, final float modifiedScale)
+		{
+			return modifiedScale * 1.0001F;
+		}
+	}
+	
+	private BenchmarkScales()
+	{
+	
+	}
+}
@@ -0,0 +1,149 @@
+package virtuoel.pehkui.benchmark;
+
+import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import virtuoel.pehkui.api.ScaleData;
+import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.util.ScaleUtils;
+
+/**
+ * Measures the per-entity scale core: reading scales through modifier chains, ticking transitions, syncing, saving, and mutating modifiers.
+ * <p>Each invocation covers every scale type of one stand-in entity, so results scale with {@code types}.
+ * Run with {@code ./gradlew jmh}, which also reports allocation rates through the GC profiler.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScaleDataBenchmark
+{
+	@Param({ "1", "8", "32" })
+	public int types;
+	
+	@Param({ "0", "4", "32" })
+	public int modifiers;
+	
+	private ScaleData[] data;
+	private NbtCompound[] savedNbt;
+	private PacketByteBuf buffer;
+	private ScaleModifier extraModifier;
+	
+	@Setup
+	public void setup()
+	{
+		data = BenchmarkScales.create(types, modifiers);
+		
+		savedNbt = new NbtCompound[types];
+		for (int i = 0; i < types; i++)
+		{
+			savedNbt[i] = data[i].writeNbt(new NbtCompound());
+		}
+		
+		buffer = new PacketByteBuf(Unpooled.buffer());
+		extraModifier = BenchmarkScales.MODIFIERS[BenchmarkScales.MAX_MODIFIERS - 1];
+	}
+	
+	@Benchmark
+	public void getScale(Blackhole blackhole)
+	{
+		for (final ScaleData d : data)
+		{
+			blackhole.consume(d.getScale());
+		}
+	}
+	
+	@Benchmark
+	public void getScaleInterpolated(Blackhole blackhole)
+	{
+		for (final ScaleData d : data)
+		{
+			blackhole.consume(d.getScale(0.5F));
+		}
+	}
+	
+	@Benchmark
+	public void getPrevScale(Blackhole blackhole)
+	{
+		for (final ScaleData d : data)
+		{
+			blackhole.consume(d.getPrevScale());
+		}
+	}
+	
+	@Benchmark
+	public void tick(Blackhole blackhole)
+	{
+		for (final ScaleData d : data)
+		{
+			if (d.getBaseScale() == d.getTargetScale())
+			{
+				d.setTargetScale(d.getTargetScale() == 1.5F ? 0.5F : 1.5F);
+			}
+			
+			d.tick();
+			blackhole.consume(d.getBaseScale());
+		}
+	}
+	
+	@Benchmark
+	public void packetRoundTrip(Blackhole blackhole)
+	{
+		for (final ScaleData d : data)
+		{
+			buffer.clear();
+			d.toPacket(buffer);
+			blackhole.consume(ScaleUtils.buildScaleNbtFromPacketByteBuf(buffer));
+		}
+	}
+	
+	@Benchmark
+	public void writeNbt(Blackhole blackhole)
+	{
+		for (final ScaleData d : data)
+		{
+			blackhole.consume(d.writeNbt(new NbtCompound()));
+		}
+	}
+	
+	@Benchmark
+	public void readNbt(Blackhole blackhole)
+	{
+		for (int i = 0; i < types; i++)
+		{
+			data[i].readNbt(savedNbt[i]);
+			blackhole.consume(data[i]);
+		}
+	}
+	
+	@Benchmark
+	public void mutateModifiers(Blackhole blackhole)
+	{
+		SortedSet<ScaleModifier> modifierSet;
+		for (final ScaleData d : data)
+		{
+			modifierSet = d.getBaseValueModifiers();
+			modifierSet.add(extraModifier);
+			blackhole.consume(d.getScale());
+			modifierSet.remove(extraModifier);
+		}
+	}
+}
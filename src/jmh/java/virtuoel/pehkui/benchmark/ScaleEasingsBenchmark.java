@@ -0,0 +1,64 @@
+package virtuoel.pehkui.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
+import net.minecraft.util.Identifier;
+import virtuoel.pehkui.Pehkui;
+import virtuoel.pehkui.api.ScaleEasings;
+import virtuoel.pehkui.api.ScaleRegistries;
+
+/**
+ * Measures evaluating an easing over a full transition of {@value #STEPS} steps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScaleEasingsBenchmark
+{
+	private static final int STEPS = 20;
+	
+	@Param({ "linear", "quadratic_in_out", "cubic_in_out", "sine_in_out", "exponential_in_out", "elastic_in_out", "back_in_out", "bounce_in_out" })
+	public String easing;
+	
+	private Float2FloatFunction function;
+	
+	@Setup
+	public void setup()
+	{
+		ScaleEasings.LINEAR.getClass();
+		
+		final Identifier id = Pehkui.id(easing);
+		function = ScaleRegistries.getEntry(ScaleRegistries.SCALE_EASINGS, id);
+		
+		if (function == null)
+		{
+			throw new IllegalArgumentException("Unknown scale easing \"" + id + "\"");
+		}
+	}
+	
+	@Benchmark
+	public void evaluate(Blackhole blackhole)
+	{
+		for (int i = 0; i <= STEPS; i++)
+		{
+			blackhole.consume(function.apply((float) i / STEPS));
+		}
+	}
+}
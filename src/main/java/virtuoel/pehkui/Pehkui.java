@@ -5,6 +5,8 @@ import org.spongepowered.asm.logging.ILogger;
 import org.spongepowered.asm.service.MixinService;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.util.Identifier;
 import virtuoel.pehkui.api.PehkuiConfig;
@@ -18,6 +20,9 @@ import virtuoel.pehkui.util.ImmersivePortalsCompatibility;
 import virtuoel.pehkui.util.ModLoaderUtils;
 import virtuoel.pehkui.util.MulticonnectCompatibility;
 import virtuoel.pehkui.util.ReachEntityAttributesCompatibility;
+import virtuoel.pehkui.util.ScaleProfileManager;
+import virtuoel.pehkui.util.ScaleResetQueue;
+import virtuoel.pehkui.util.ScaledExplosionQueue;
 
 @ApiStatus.Internal
 public class Pehkui implements ModInitializer
@@ -56,6 +61,19 @@ public class Pehkui implements ModInitializer
 			});
 		}
 		
+		if (ModLoaderUtils.isModLoaded("fabric-lifecycle-events-v1"))
+		{
+			ServerLifecycleEvents.SERVER_STARTING.register(ScaleResetQueue.INSTANCE::onServerStarting);
+			ServerLifecycleEvents.SERVER_STOPPED.register(ScaleResetQueue.INSTANCE::onServerStopped);
+			ServerLifecycleEvents.SERVER_STOPPING.register(ScaledExplosionQueue::onServerStopping);
+			ServerTickEvents.END_SERVER_TICK.register(ScaleResetQueue.INSTANCE::onServerTick);
+		}
+		
+		if (ModLoaderUtils.isModLoaded("fabric-resource-loader-v0"))
+		{
+			ScaleProfileManager.registerReloadListener();
+		}
+		
 		GravityChangerCompatibility.INSTANCE.getClass();
 		IdentityCompatibility.INSTANCE.getClass();
 		ImmersivePortalsCompatibility.INSTANCE.getClass();
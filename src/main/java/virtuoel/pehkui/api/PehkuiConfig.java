@@ -11,7 +11,7 @@ import net.minecraft.util.Identifier;
 import virtuoel.kanos_config.api.JsonConfigBuilder;
 import virtuoel.kanos_config.api.MutableConfigEntry;
 import virtuoel.pehkui.Pehkui;
-import virtuoel.pehkui.util.ClampingScaleModifier;
+import virtuoel.pehkui.util.ConfigClampingScaleModifier;
 import virtuoel.pehkui.util.ConfigSyncUtils;
 import virtuoel.pehkui.util.ScaleUtils;
 import virtuoel.pehkui.util.VersionUtils;
@@ -40,6 +40,8 @@ public class PehkuiConfig
 		public final Supplier<Boolean> keepAllScalesOnRespawn;
 		public final Supplier<List<String>> scalesKeptOnRespawn;
 		
+		public final Supplier<List<String>> entityTypeDefaultScales;
+		
 		public final Supplier<Boolean> accurateNetherPortals;
 		
 		public final Supplier<Boolean> enableCommands;
@@ -55,11 +57,19 @@ public class PehkuiConfig
 		public final Supplier<Boolean> scaledProjectiles;
 		public final Supplier<Boolean> scaledExplosions;
 		
+		public final Supplier<Double> boundedCollisionMinimumSize;
+		public final Supplier<Double> boundedCollisionBlockBudget;
+		
+		public final Supplier<Double> crammingGridEntitySize;
+		public final Supplier<Double> crammingNeighborLimit;
+		
 		private Common(final JsonConfigBuilder builder)
 		{
 			this.keepAllScalesOnRespawn = builder.booleanConfig(synced("keepAllScalesOnRespawn", "boolean"), false);
 			this.scalesKeptOnRespawn = builder.stringListConfig(synced("scalesKeptOnRespawn", "string_list"));
 			
+			this.entityTypeDefaultScales = builder.stringListConfig(synced("entityTypeDefaultScales", "string_list"));
+			
 			this.accurateNetherPortals = builder.booleanConfig(synced("accurateNetherPortals", "boolean"), true);
 			
 			this.enableCommands = builder.booleanConfig("enableCommands", true);
@@ -75,6 +85,12 @@ public class PehkuiConfig
 			this.scaledProjectiles = builder.booleanConfig(synced("scaledProjectiles", "boolean"), true);
 			this.scaledExplosions = builder.booleanConfig(synced("scaledExplosions", "boolean"), true);
 			
+			this.boundedCollisionMinimumSize = builder.doubleConfig(synced("boundedCollisionMinimumSize", "double"), 16.0D);
+			this.boundedCollisionBlockBudget = builder.doubleConfig(synced("boundedCollisionBlockBudget", "double"), 32768.0D);
+			
+			this.crammingGridEntitySize = builder.doubleConfig(synced("crammingGridEntitySize", "double"), 0.5D);
+			this.crammingNeighborLimit = builder.doubleConfig(synced("crammingNeighborLimit", "double"), 32.0D);
+			
 			Identifier id;
 			String namespace, path;
 			ScaleType type;
@@ -102,7 +118,7 @@ public class PehkuiConfig
 						ScaleRegistries.register(
 							ScaleRegistries.SCALE_MODIFIERS,
 							Pehkui.id("clamping", path),
-							new ClampingScaleModifier(min::get, max::get, 0.0F)
+							new ConfigClampingScaleModifier(min::get, max::get, 0.0F)
 						)
 					);
 				}
@@ -122,9 +138,21 @@ public class PehkuiConfig
 	
 	public static final class Server
 	{
+		public final Supplier<Double> deferredExplosionMinimumPower;
+		public final Supplier<Double> deferredExplosionTickBudget;
+		
+		public final Supplier<Double> trackingRangeMinimumScale;
+		public final Supplier<Double> trackingRangeMaximumScale;
+		public final Supplier<Double> extendedTrackingLimit;
+		
 		private Server(final JsonConfigBuilder builder)
 		{
+			this.deferredExplosionMinimumPower = builder.doubleConfig("deferredExplosionMinimumPower", 16.0D);
+			this.deferredExplosionTickBudget = builder.doubleConfig("deferredExplosionTickBudget", 5.0D);
 			
+			this.trackingRangeMinimumScale = builder.doubleConfig("trackingRangeMinimumScale", 0.5D);
+			this.trackingRangeMaximumScale = builder.doubleConfig("trackingRangeMaximumScale", 4.0D);
+			this.extendedTrackingLimit = builder.doubleConfig("extendedTrackingLimit", 64.0D);
 		}
 	}
 	
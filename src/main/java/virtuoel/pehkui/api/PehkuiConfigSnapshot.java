@@ -0,0 +1,256 @@
+package virtuoel.pehkui.api;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.util.Identifier;
+import virtuoel.pehkui.util.PublishedReference;
+
+/**
+ * Immutable copy of the config values read on hot paths, resolved once instead of on every read.
+ * <p>A new snapshot is built the first time it is read after the local or synced config changed, and is published through a single {@link PublishedReference}.
+ * Caches that depend on config values can listen to {@link #CHANGED} to invalidate themselves.
+ */
+public final class PehkuiConfigSnapshot
+{
+	@FunctionalInterface
+	public interface ChangeCallback
+	{
+		/**
+		 * Invoked after the config changed. {@link PehkuiConfigSnapshot#get()} returns the updated values from then on.
+		 */
+		void onConfigChanged();
+	}
+	
+	public static final Event<ChangeCallback> CHANGED = EventFactory.createArrayBacked(
+		ChangeCallback.class,
+		() -> {},
+		(callbacks) -> () ->
+		{
+			for (final ChangeCallback callback : callbacks)
+			{
+				callback.onConfigChanged();
+			}
+		}
+	);
+	
+	private static final PublishedReference<PehkuiConfigSnapshot> CURRENT = PublishedReference.create(null);
+	
+	public static PehkuiConfigSnapshot get()
+	{
+		final PehkuiConfigSnapshot snapshot = CURRENT.get();
+		
+		return snapshot != null ? snapshot : rebuild();
+	}
+	
+	private static synchronized PehkuiConfigSnapshot rebuild()
+	{
+		PehkuiConfigSnapshot snapshot = CURRENT.get();
+		
+		if (snapshot == null)
+		{
+			CURRENT.set(snapshot = new PehkuiConfigSnapshot());
+		}
+		
+		return snapshot;
+	}
+	
+	/**
+	 * Discards the current snapshot and notifies listeners. Called whenever a config value or the set of scale types changes.
+	 */
+	@ApiStatus.Internal
+	public static void invalidate()
+	{
+		synchronized (PehkuiConfigSnapshot.class)
+		{
+			CURRENT.set(null);
+		}
+		
+		CHANGED.invoker().onConfigChanged();
+	}
+	
+	private final boolean keepAllScalesOnRespawn;
+	private final Set<ScaleType> scalesKeptOnRespawn;
+	private final boolean accurateNetherPortals;
+	private final boolean scaledFallDamage;
+	private final boolean scaledMotion;
+	private final boolean scaledReach;
+	private final boolean scaledAttack;
+	private final boolean scaledDefense;
+	private final boolean scaledHealth;
+	private final boolean scaledItemDrops;
+	private final boolean scaledProjectiles;
+	private final boolean scaledExplosions;
+	private final double boundedCollisionMinimumSize;
+	private final double boundedCollisionBlockBudget;
+	private final double crammingGridEntitySize;
+	private final int crammingNeighborLimit;
+	private final double minimumCameraDepth;
+	private final double deferredExplosionMinimumPower;
+	private final double deferredExplosionTickBudget;
+	private final double trackingRangeMinimumScale;
+	private final double trackingRangeMaximumScale;
+	private final int extendedTrackingLimit;
+	
+	private PehkuiConfigSnapshot()
+	{
+		final PehkuiConfig.Common common = PehkuiConfig.COMMON;
+		final PehkuiConfig.Client client = PehkuiConfig.CLIENT;
+		final PehkuiConfig.Server server = PehkuiConfig.SERVER;
+		
+		this.keepAllScalesOnRespawn = common.keepAllScalesOnRespawn.get();
+		
+		final Set<ScaleType> keptScales = new ReferenceOpenHashSet<>();
+		
+		ScaleType type;
+		for (final String id : common.scalesKeptOnRespawn.get())
+		{
+			type = ScaleRegistries.getEntry(ScaleRegistries.SCALE_TYPES, Identifier.tryParse(id));
+			
+			if (type != null)
+			{
+				keptScales.add(type);
+			}
+		}
+		
+		this.scalesKeptOnRespawn = Collections.unmodifiableSet(keptScales);
+		
+		this.accurateNetherPortals = common.accurateNetherPortals.get();
+		this.scaledFallDamage = common.scaledFallDamage.get();
+		this.scaledMotion = common.scaledMotion.get();
+		this.scaledReach = common.scaledReach.get();
+		this.scaledAttack = common.scaledAttack.get();
+		this.scaledDefense = common.scaledDefense.get();
+		this.scaledHealth = common.scaledHealth.get();
+		this.scaledItemDrops = common.scaledItemDrops.get();
+		this.scaledProjectiles = common.scaledProjectiles.get();
+		this.scaledExplosions = common.scaledExplosions.get();
+		this.boundedCollisionMinimumSize = common.boundedCollisionMinimumSize.get();
+		this.boundedCollisionBlockBudget = common.boundedCollisionBlockBudget.get();
+		this.crammingGridEntitySize = common.crammingGridEntitySize.get();
+		this.crammingNeighborLimit = common.crammingNeighborLimit.get().intValue();
+		
+		this.minimumCameraDepth = client.minimumCameraDepth.get();
+		
+		this.deferredExplosionMinimumPower = server.deferredExplosionMinimumPower.get();
+		this.deferredExplosionTickBudget = server.deferredExplosionTickBudget.get();
+		this.trackingRangeMinimumScale = server.trackingRangeMinimumScale.get();
+		this.trackingRangeMaximumScale = server.trackingRangeMaximumScale.get();
+		this.extendedTrackingLimit = server.extendedTrackingLimit.get().intValue();
+	}
+	
+	public boolean keepAllScalesOnRespawn()
+	{
+		return keepAllScalesOnRespawn;
+	}
+	
+	public Set<ScaleType> getScalesKeptOnRespawn()
+	{
+		return scalesKeptOnRespawn;
+	}
+	
+	public boolean accurateNetherPortals()
+	{
+		return accurateNetherPortals;
+	}
+	
+	public boolean scaledFallDamage()
+	{
+		return scaledFallDamage;
+	}
+	
+	public boolean scaledMotion()
+	{
+		return scaledMotion;
+	}
+	
+	public boolean scaledReach()
+	{
+		return scaledReach;
+	}
+	
+	public boolean scaledAttack()
+	{
+		return scaledAttack;
+	}
+	
+	public boolean scaledDefense()
+	{
+		return scaledDefense;
+	}
+	
+	public boolean scaledHealth()
+	{
+		return scaledHealth;
+	}
+	
+	public boolean scaledItemDrops()
+	{
+		return scaledItemDrops;
+	}
+	
+	public boolean scaledProjectiles()
+	{
+		return scaledProjectiles;
+	}
+	
+	public boolean scaledExplosions()
+	{
+		return scaledExplosions;
+	}
+	
+	public double getBoundedCollisionMinimumSize()
+	{
+		return boundedCollisionMinimumSize;
+	}
+	
+	public double getBoundedCollisionBlockBudget()
+	{
+		return boundedCollisionBlockBudget;
+	}
+	
+	public double getCrammingGridEntitySize()
+	{
+		return crammingGridEntitySize;
+	}
+	
+	public int getCrammingNeighborLimit()
+	{
+		return crammingNeighborLimit;
+	}
+	
+	public double getMinimumCameraDepth()
+	{
+		return minimumCameraDepth;
+	}
+	
+	public double getDeferredExplosionMinimumPower()
+	{
+		return deferredExplosionMinimumPower;
+	}
+	
+	public double getDeferredExplosionTickBudget()
+	{
+		return deferredExplosionTickBudget;
+	}
+	
+	public double getTrackingRangeMinimumScale()
+	{
+		return trackingRangeMinimumScale;
+	}
+	
+	public double getTrackingRangeMaximumScale()
+	{
+		return trackingRangeMaximumScale;
+	}
+	
+	public int getExtendedTrackingLimit()
+	{
+		return extendedTrackingLimit;
+	}
+}
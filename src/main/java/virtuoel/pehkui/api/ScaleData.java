@@ -1,13 +1,19 @@
 package virtuoel.pehkui.api;
 
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedSet;
 
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
 import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
 import it.unimi.dsi.fastutil.objects.ObjectAVLTreeSet;
 import net.fabricmc.fabric.api.util.NbtType;
 import net.minecraft.entity.Entity;
@@ -18,8 +24,18 @@ import net.minecraft.nbt.NbtList;
 import net.minecraft.nbt.NbtOps;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
+import virtuoel.pehkui.util.EntityTypeScaleDefaults;
 import virtuoel.pehkui.util.PehkuiEntityExtensions;
+import virtuoel.pehkui.util.PehkuiWorldExtensions;
+import virtuoel.pehkui.util.TimingWheel;
 
+/**
+ * A single scale type's values for an entity.
+ * <p>Threading: scale data belongs to the thread ticking its entity's world. It must only be read or modified from that thread, and its events are invoked on it.
+ * Scale data may be constructed and read from NBT on other threads before its entity is added to a world.
+ * When the entity changes worlds, its scale data moves to the thread ticking the new world, along with the expiry of its timed modifiers.
+ * Other threads should read scales through {@link ScaleSnapshot#of(Entity)} instead.
+ */
 public class ScaleData
 {
 	private float baseScale;
@@ -37,12 +53,17 @@ public class ScaleData
 	
 	@Nullable
 	private final Entity entity;
+	@Nullable
+	private EntityTypeScaleDefaults.Entry entityTypeDefaults;
+	private int entityTypeDefaultsGeneration;
 	
 	private final SortedSet<ScaleModifier> baseValueModifiers;
 	private final SortedSet<ScaleModifier> differingModifierCache;
 	private boolean trackModifierChanges;
 	private float cachedScale = Float.NaN;
 	private float cachedPrevScale = Float.NaN;
+	@Nullable
+	private Map<ScaleModifier, TimedModifier> timedModifiers = null;
 	
 	/**
 	 * @see {@link ScaleType#getScaleData(Entity)}
@@ -54,8 +75,10 @@ public class ScaleData
 	{
 		this.scaleType = scaleType;
 		this.entity = entity;
+		this.entityTypeDefaultsGeneration = EntityTypeScaleDefaults.getGeneration();
+		this.entityTypeDefaults = EntityTypeScaleDefaults.get(scaleType, entity);
 		
-		final float defaultBaseScale = scaleType.getDefaultBaseScale();
+		final float defaultBaseScale = getDefaultBaseScale();
 		
 		this.baseScale = defaultBaseScale;
 		this.prevBaseScale = defaultBaseScale;
@@ -92,6 +115,7 @@ public class ScaleData
 			{
 				if (super.remove(arg0))
 				{
+					cancelModifierExpiry(arg0);
 					invalidateCachedScales();
 					
 					if (ScaleData.this.trackModifierChanges)
@@ -111,7 +135,7 @@ public class ScaleData
 		
 		this.trackModifierChanges = false;
 		
-		getBaseValueModifiers().addAll(getScaleType().getDefaultBaseValueModifiers());
+		addDefaultBaseValueModifiers(getBaseValueModifiers());
 		
 		this.trackModifierChanges = true;
 	}
@@ -122,6 +146,8 @@ public class ScaleData
 	 */
 	public void tick()
 	{
+		moveModifierExpiries();
+		refreshEntityTypeDefaults();
 		invalidateCachedScales();
 		
 		final float currScale = getBaseScale();
@@ -150,6 +176,7 @@ public class ScaleData
 				this.prevBaseScale = currScale;
 				
 				this.cachedPrevScale = Float.NaN;
+				invalidateScaleSummary();
 			}
 			
 			if (this.initialScale != targetScale)
@@ -176,7 +203,121 @@ public class ScaleData
 	}
 	
 	/**
-	 * Returns a mutable sorted set of scale modifiers. This set already contains the default modifiers from the scale type.
+	 * Gets the base scale this data starts with and is reset to.
+	 * This is the scale type's default unless {@link EntityTypeScaleDefaults} has an entry for the entity's type.
+	 * 
+	 * @return Default base scale for this entity
+	 */
+	public float getDefaultBaseScale()
+	{
+		return this.entityTypeDefaults == null ? getScaleType().getDefaultBaseScale() : this.entityTypeDefaults.getBaseScale();
+	}
+	
+	/**
+	 * Gets the base value modifiers this data starts with and is reset to.
+	 * This is the scale type's default modifiers plus any from {@link EntityTypeScaleDefaults} for the entity's type.
+	 * 
+	 * @return Set of default scale modifiers for this entity
+	 */
+	public Set<ScaleModifier> getDefaultBaseValueModifiers()
+	{
+		final Set<ScaleModifier> typeModifiers = getScaleType().getDefaultBaseValueModifiers();
+		
+		if (this.entityTypeDefaults == null || this.entityTypeDefaults.getBaseValueModifiers().isEmpty())
+		{
+			return typeModifiers;
+		}
+		
+		final Set<ScaleModifier> modifiers = new ObjectAVLTreeSet<>(typeModifiers);
+		modifiers.addAll(this.entityTypeDefaults.getBaseValueModifiers());
+		
+		return modifiers;
+	}
+	
+	/**
+	 * Resolves this data's entity type defaults again if the config changed since they were last resolved.
+	 * 
+	 * @return Whether the defaults were resolved again
+	 */
+	private boolean resolveEntityTypeDefaults()
+	{
+		final int generation = EntityTypeScaleDefaults.getGeneration();
+		
+		if (generation == this.entityTypeDefaultsGeneration)
+		{
+			return false;
+		}
+		
+		this.entityTypeDefaultsGeneration = generation;
+		this.entityTypeDefaults = EntityTypeScaleDefaults.get(getScaleType(), getEntity());
+		
+		return true;
+	}
+	
+	/**
+	 * Moves values that still match the previous entity type defaults over to the current ones, so existing entities pick up reloaded or synced defaults.
+	 */
+	private void refreshEntityTypeDefaults()
+	{
+		final EntityTypeScaleDefaults.Entry previous = this.entityTypeDefaults;
+		final float previousBaseScale = getDefaultBaseScale();
+		
+		if (!resolveEntityTypeDefaults() || previous == this.entityTypeDefaults)
+		{
+			return;
+		}
+		
+		final float defaultBaseScale = getDefaultBaseScale();
+		final Set<ScaleModifier> previousModifiers = previous == null ? Collections.emptySet() : previous.getBaseValueModifiers();
+		final Set<ScaleModifier> modifiers = this.entityTypeDefaults == null ? Collections.emptySet() : this.entityTypeDefaults.getBaseValueModifiers();
+		
+		if (defaultBaseScale == previousBaseScale && modifiers.equals(previousModifiers))
+		{
+			return;
+		}
+		
+		if (this.baseScale == previousBaseScale && this.prevBaseScale == previousBaseScale && this.initialScale == previousBaseScale && this.targetScale == previousBaseScale)
+		{
+			this.baseScale = defaultBaseScale;
+			this.prevBaseScale = defaultBaseScale;
+			this.initialScale = defaultBaseScale;
+			this.targetScale = defaultBaseScale;
+		}
+		
+		this.trackModifierChanges = false;
+		
+		final SortedSet<ScaleModifier> baseValueModifiers = getBaseValueModifiers();
+		final Set<ScaleModifier> typeModifiers = getScaleType().getDefaultBaseValueModifiers();
+		
+		for (final ScaleModifier modifier : previousModifiers)
+		{
+			if (!modifiers.contains(modifier) && !typeModifiers.contains(modifier))
+			{
+				baseValueModifiers.remove(modifier);
+			}
+		}
+		
+		baseValueModifiers.addAll(modifiers);
+		
+		this.trackModifierChanges = true;
+		
+		invalidateCachedModifiers();
+		invalidateScaleSummary();
+		onUpdate();
+	}
+	
+	private void addDefaultBaseValueModifiers(final Collection<ScaleModifier> modifiers)
+	{
+		modifiers.addAll(getScaleType().getDefaultBaseValueModifiers());
+		
+		if (this.entityTypeDefaults != null)
+		{
+			modifiers.addAll(this.entityTypeDefaults.getBaseValueModifiers());
+		}
+	}
+	
+	/**
+	 * Returns a mutable sorted set of scale modifiers. This set already contains the default modifiers from the scale type and entity type.
 	 * @return Set of scale modifiers sorted by priority
 	 */
 	public SortedSet<ScaleModifier> getBaseValueModifiers()
@@ -184,6 +325,175 @@ public class ScaleData
 		return baseValueModifiers;
 	}
 	
+	/**
+	 * Adds a base value modifier that gets removed again after the given amount of ticks.
+	 * <p>Expiry is tracked by the entity's server world and follows the entity when it changes worlds. The remaining time is saved with the scale data.
+	 * Like the rest of the scale data, timed modifiers are confined to the thread ticking the entity's world, and their timers expire on that thread.
+	 * Timers only hold their scale data weakly, and modifiers of dead or removed entities expire without notifying anyone.
+	 * Adding a modifier that is already timed restarts its timer. Removing the modifier cancels its timer.
+	 * 
+	 * @param modifier Modifier to add
+	 * @param ticks Amount of ticks until the modifier is removed
+	 */
+	public void addTimedModifier(ScaleModifier modifier, int ticks)
+	{
+		getBaseValueModifiers().add(modifier);
+		scheduleModifierExpiry(modifier, ticks);
+	}
+	
+	/**
+	 * @return Amount of ticks until the given modifier is removed, or -1 if the modifier isn't timed
+	 */
+	public int getRemainingModifierTicks(ScaleModifier modifier)
+	{
+		final Map<ScaleModifier, TimedModifier> timedModifiers = this.timedModifiers;
+		final TimedModifier timer = timedModifiers == null ? null : timedModifiers.get(modifier);
+		
+		return timer == null ? -1 : (int) Math.min(timer.getRemainingTicks(), Integer.MAX_VALUE);
+	}
+	
+	private void scheduleModifierExpiry(ScaleModifier modifier, int ticks)
+	{
+		final Entity e = getEntity();
+		
+		if (e == null || e.world == null || e.world.isClient)
+		{
+			return;
+		}
+		
+		if (this.timedModifiers == null)
+		{
+			this.timedModifiers = new Object2ObjectArrayMap<>();
+		}
+		
+		TimedModifier timer = this.timedModifiers.get(modifier);
+		
+		if (timer == null)
+		{
+			this.timedModifiers.put(modifier, timer = new TimedModifier(this, modifier));
+		}
+		
+		((PehkuiWorldExtensions) e.world).pehkui_getScaleModifierTimers().schedule(timer, ticks);
+	}
+	
+	private void cancelModifierExpiry(Object modifier)
+	{
+		if (this.timedModifiers == null)
+		{
+			return;
+		}
+		
+		final TimedModifier timer = this.timedModifiers.remove(modifier);
+		
+		if (timer != null)
+		{
+			timer.cancel();
+		}
+	}
+	
+	private void cancelModifierExpiries()
+	{
+		if (this.timedModifiers == null)
+		{
+			return;
+		}
+		
+		for (final TimedModifier timer : this.timedModifiers.values())
+		{
+			timer.cancel();
+		}
+		
+		this.timedModifiers.clear();
+	}
+	
+	/**
+	 * Moves timers left on the wheel of a world the entity has since left onto its current world's wheel.
+	 */
+	private void moveModifierExpiries()
+	{
+		if (this.timedModifiers == null || this.timedModifiers.isEmpty())
+		{
+			return;
+		}
+		
+		final Entity e = getEntity();
+		
+		if (e == null || e.world == null || e.world.isClient)
+		{
+			return;
+		}
+		
+		final TimingWheel wheel = ((PehkuiWorldExtensions) e.world).pehkui_getScaleModifierTimers();
+		
+		for (final TimedModifier timer : this.timedModifiers.values())
+		{
+			if (timer.isScheduled() && !timer.isScheduledOn(wheel))
+			{
+				wheel.schedule(timer, timer.getRemainingTicks());
+			}
+		}
+	}
+	
+	private void expireModifier(TimedModifier timer, TimingWheel wheel)
+	{
+		if (this.timedModifiers == null || this.timedModifiers.get(timer.modifier) != timer)
+		{
+			return;
+		}
+		
+		final Entity e = getEntity();
+		
+		if (e != null && e.isAlive() && e.world != null && !e.world.isClient)
+		{
+			final TimingWheel current = ((PehkuiWorldExtensions) e.world).pehkui_getScaleModifierTimers();
+			
+			if (current != wheel)
+			{
+				// The entity changed worlds before this timer could be moved, so let it expire on the thread ticking its new world
+				current.schedule(timer, 0);
+				return;
+			}
+		}
+		
+		if (e != null && !e.isAlive())
+		{
+			final boolean track = this.trackModifierChanges;
+			this.trackModifierChanges = false;
+			
+			getBaseValueModifiers().remove(timer.modifier);
+			invalidateCachedModifiers();
+			
+			this.trackModifierChanges = track;
+			
+			return;
+		}
+		
+		getBaseValueModifiers().remove(timer.modifier);
+	}
+	
+	private static class TimedModifier extends TimingWheel.Timer
+	{
+		private final WeakReference<ScaleData> data;
+		private final ScaleModifier modifier;
+		
+		private TimedModifier(ScaleData data, ScaleModifier modifier)
+		{
+			this.data = new WeakReference<>(data);
+			this.modifier = modifier;
+		}
+		
+		@Override
+		protected void onExpired(TimingWheel wheel)
+		{
+			final ScaleData data = this.data.get();
+			
+			if (data != null)
+			{
+				data.expireModifier(this, wheel);
+			}
+		}
+	}
+	
 	/**
 	 * Gets the scale without any modifiers applied
 	 * 
@@ -324,6 +634,16 @@ public class ScaleData
 		return remaining;
 	}
 	
+	/**
+	 * Gets the amount of ticks elapsed while changing the base scale towards the target scale
+	 * 
+	 * @return Elapsed ticks
+	 */
+	public int getScaleTicks()
+	{
+		return this.scaleTicks;
+	}
+	
 	/**
 	 * Gets the amount of ticks it will take for the base scale to change to the target scale
 	 * 
@@ -411,6 +731,11 @@ public class ScaleData
 	{
 		final Entity e = getEntity();
 		
+		if (sync && e != null)
+		{
+			((PehkuiEntityExtensions) e).pehkui_invalidateScaleSnapshot();
+		}
+		
 		if (e != null && e.world != null && !e.world.isClient)
 		{
 			this.shouldSync = sync;
@@ -434,6 +759,13 @@ public class ScaleData
 	{
 		invalidateCachedScales();
 		markForSync(true);
+		
+		final Entity entity = getEntity();
+		if (entity != null)
+		{
+			((PehkuiEntityExtensions) entity).pehkui_onScalesChanged();
+		}
+		
 		getScaleType().getScaleChangedEvent().invoker().onEvent(this);
 	}
 	
@@ -442,6 +774,11 @@ public class ScaleData
 		this.differingModifierCache.clear();
 		this.differingModifierCache.addAll(getBaseValueModifiers());
 		this.differingModifierCache.removeAll(getScaleType().getDefaultBaseValueModifiers());
+		
+		if (this.entityTypeDefaults != null)
+		{
+			this.differingModifierCache.removeAll(this.entityTypeDefaults.getBaseValueModifiers());
+		}
 	}
 	
 	private void invalidateCachedScales()
@@ -450,6 +787,16 @@ public class ScaleData
 		this.cachedPrevScale = Float.NaN;
 	}
 	
+	private void invalidateScaleSummary()
+	{
+		final Entity e = getEntity();
+		
+		if (e != null)
+		{
+			((PehkuiEntityExtensions) e).pehkui_invalidateScaleSummary();
+		}
+	}
+	
 	public PacketByteBuf toPacket(PacketByteBuf buffer)
 	{
 		buffer.writeFloat(this.baseScale)
@@ -482,9 +829,11 @@ public class ScaleData
 	
 	public void readNbt(NbtCompound tag)
 	{
+		resolveEntityTypeDefaults();
+		
 		final ScaleType type = getScaleType();
 		
-		this.baseScale = tag.contains("scale") ? tag.getFloat("scale") : type.getDefaultBaseScale();
+		this.baseScale = tag.contains("scale") ? tag.getFloat("scale") : getDefaultBaseScale();
 		this.prevBaseScale = tag.contains("previous") ? tag.getFloat("previous") : this.baseScale;
 		this.initialScale = tag.contains("initial") ? tag.getFloat("initial") : this.baseScale;
 		this.targetScale = tag.contains("target") ? tag.getFloat("target") : this.baseScale;
@@ -500,9 +849,10 @@ public class ScaleData
 		
 		final SortedSet<ScaleModifier> baseValueModifiers = getBaseValueModifiers();
 		
+		cancelModifierExpiries();
 		baseValueModifiers.clear();
 		
-		baseValueModifiers.addAll(type.getDefaultBaseValueModifiers());
+		addDefaultBaseValueModifiers(baseValueModifiers);
 		
 		if (tag.contains("baseValueModifiers"))
 		{
@@ -543,6 +893,24 @@ public class ScaleData
 			this.differingModifierCache.clear();
 		}
 		
+		if (tag.contains("timedModifiers"))
+		{
+			final NbtList timed = tag.getList("timedModifiers", NbtType.COMPOUND);
+			
+			ScaleModifier modifier;
+			NbtCompound compound;
+			for (int i = 0; i < timed.size(); i++)
+			{
+				compound = timed.getCompound(i);
+				modifier = ScaleRegistries.getEntry(ScaleRegistries.SCALE_MODIFIERS, Identifier.tryParse(compound.getString("id")));
+				
+				if (modifier != null && baseValueModifiers.contains(modifier))
+				{
+					scheduleModifierExpiry(modifier, compound.getInt("ticks"));
+				}
+			}
+		}
+		
 		this.trackModifierChanges = true;
 		
 		onUpdate();
@@ -551,7 +919,7 @@ public class ScaleData
 	public NbtCompound writeNbt(NbtCompound tag)
 	{
 		final ScaleType type = getScaleType();
-		final float defaultBaseScale = type.getDefaultBaseScale();
+		final float defaultBaseScale = getDefaultBaseScale();
 		
 		final float scale = getBaseScale();
 		if (scale != defaultBaseScale)
@@ -597,12 +965,49 @@ public class ScaleData
 		{
 			final NbtList modifiers = new NbtList();
 			
+			Identifier id;
 			for (final ScaleModifier modifier : this.differingModifierCache)
 			{
-				modifiers.add(NbtOps.INSTANCE.createString(ScaleRegistries.getId(ScaleRegistries.SCALE_MODIFIERS, modifier).toString()));
+				id = ScaleRegistries.getId(ScaleRegistries.SCALE_MODIFIERS, modifier);
+				
+				if (id != null)
+				{
+					modifiers.add(NbtOps.INSTANCE.createString(id.toString()));
+				}
 			}
 			
-			tag.put("baseValueModifiers", modifiers);
+			if (!modifiers.isEmpty())
+			{
+				tag.put("baseValueModifiers", modifiers);
+			}
+		}
+		
+		final Map<ScaleModifier, TimedModifier> timedModifiers = this.timedModifiers;
+		if (timedModifiers != null && !timedModifiers.isEmpty())
+		{
+			final NbtList timed = new NbtList();
+			
+			Identifier id;
+			NbtCompound compound;
+			for (final TimedModifier timer : timedModifiers.values())
+			{
+				id = ScaleRegistries.getId(ScaleRegistries.SCALE_MODIFIERS, timer.modifier);
+				
+				if (id == null)
+				{
+					continue;
+				}
+				
+				compound = new NbtCompound();
+				compound.putString("id", id.toString());
+				compound.putInt("ticks", (int) Math.min(timer.getRemainingTicks(), Integer.MAX_VALUE));
+				timed.add(compound);
+			}
+			
+			if (!timed.isEmpty())
+			{
+				tag.put("timedModifiers", timed);
+			}
 		}
 		
 		return tag;
@@ -615,8 +1020,10 @@ public class ScaleData
 	
 	public ScaleData resetScale(boolean notifyListener)
 	{
+		resolveEntityTypeDefaults();
+		
 		final ScaleType type = getScaleType();
-		final float defaultBaseScale = type.getDefaultBaseScale();
+		final float defaultBaseScale = getDefaultBaseScale();
 		
 		this.baseScale = defaultBaseScale;
 		this.prevBaseScale = defaultBaseScale;
@@ -633,13 +1040,16 @@ public class ScaleData
 		
 		final SortedSet<ScaleModifier> baseValueModifiers = getBaseValueModifiers();
 		
+		cancelModifierExpiries();
 		baseValueModifiers.clear();
-		baseValueModifiers.addAll(type.getDefaultBaseValueModifiers());
+		addDefaultBaseValueModifiers(baseValueModifiers);
 		
 		this.differingModifierCache.clear();
 		
 		this.trackModifierChanges = true;
 		
+		invalidateScaleSummary();
+		
 		if (notifyListener)
 		{
 			onUpdate();
@@ -657,7 +1067,7 @@ public class ScaleData
 	public boolean hasDefaultValues()
 	{
 		final ScaleType type = getScaleType();
-		final float defaultBaseScale = type.getDefaultBaseScale();
+		final float defaultBaseScale = getDefaultBaseScale();
 		
 		if (getBaseScale() != defaultBaseScale)
 		{
@@ -726,6 +1136,7 @@ public class ScaleData
 			this.easing = scaleData.getEasing();
 			
 			invalidateCachedScales();
+			invalidateScaleSummary();
 		}
 		
 		if (notifyListener)
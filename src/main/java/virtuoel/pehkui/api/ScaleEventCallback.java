@@ -1,5 +1,9 @@
 package virtuoel.pehkui.api;
 
+/**
+ * Listener for scale data events.
+ * <p>Invoked on the thread that caused the event, which is the thread ticking the entity's world. Worlds may be ticked in parallel, so callbacks must not touch state belonging to other worlds without synchronizing.
+ */
 @FunctionalInterface
 public interface ScaleEventCallback
 {
@@ -46,4 +46,16 @@ public class ScaleModifier implements Comparable<ScaleModifier>
 	{
 		return modifiedScale;
 	}
+	
+	/**
+	 * Whether this modifier leaves a scale of 1 unchanged, as long as every scale it depends on is also 1.
+	 * Entities whose modifiers all preserve identity skip scale calculations while unscaled.
+	 * <p>Subclasses overriding the modify methods should override this if it holds for them.
+	 * 
+	 * @return true if this modifier maps 1 to 1
+	 */
+	public boolean preservesIdentity()
+	{
+		return getClass() == ScaleModifier.class;
+	}
 }
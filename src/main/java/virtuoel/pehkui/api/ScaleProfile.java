@@ -0,0 +1,218 @@
+package virtuoel.pehkui.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.entity.Entity;
+import virtuoel.pehkui.util.PehkuiEntityExtensions;
+
+/**
+ * A named set of scale values, delays, easings, and modifiers that is applied to an entity's scale types all at once.
+ * 
+ * @see {@link ScaleProfile.Builder#create()}
+ */
+public class ScaleProfile
+{
+	@FunctionalInterface
+	public interface AppliedCallback
+	{
+		/**
+		 * Invoked once after every entry of a profile has been applied to an entity, following the scale change events of the individual scale types.
+		 */
+		void onApplied(Entity entity, ScaleProfile profile);
+	}
+	
+	public static final Event<AppliedCallback> APPLIED = EventFactory.createArrayBacked(
+		AppliedCallback.class,
+		(entity, profile) -> {},
+		(callbacks) -> (entity, profile) ->
+		{
+			for (final AppliedCallback callback : callbacks)
+			{
+				callback.onApplied(entity, profile);
+			}
+		}
+	);
+	
+	private final Map<ScaleType, Entry> entries;
+	
+	private ScaleProfile(Builder builder)
+	{
+		final Map<ScaleType, Entry> entries = new LinkedHashMap<>();
+		
+		for (final Map.Entry<ScaleType, Entry.Builder> entry : builder.entries.entrySet())
+		{
+			entries.put(entry.getKey(), entry.getValue().build());
+		}
+		
+		this.entries = Collections.unmodifiableMap(entries);
+	}
+	
+	public Map<ScaleType, Entry> getEntries()
+	{
+		return entries;
+	}
+	
+	/**
+	 * Applies every entry of this profile to the given entity.
+	 * <p>Dimension recalculations caused by the changes are deferred until all entries have been applied, and the changed scale data is synced together with the entity's next scale sync.
+	 * {@link #APPLIED} is invoked once afterwards.
+	 * 
+	 * @param entity Entity to apply this profile to
+	 */
+	public void apply(Entity entity)
+	{
+		final PehkuiEntityExtensions e = (PehkuiEntityExtensions) entity;
+		
+		e.pehkui_beginDimensionsBatch();
+		
+		try
+		{
+			for (final Map.Entry<ScaleType, Entry> entry : entries.entrySet())
+			{
+				entry.getValue().apply(entry.getKey().getScaleData(entity));
+			}
+		}
+		finally
+		{
+			e.pehkui_endDimensionsBatch();
+		}
+		
+		APPLIED.invoker().onApplied(entity, this);
+	}
+	
+	public static class Entry
+	{
+		private final Float scale;
+		private final Integer delay;
+		private final Float2FloatFunction easing;
+		private final Set<ScaleModifier> modifiers;
+		
+		private Entry(Builder builder)
+		{
+			this.scale = builder.scale;
+			this.delay = builder.delay;
+			this.easing = builder.easing;
+			this.modifiers = builder.modifiers.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(new ObjectLinkedOpenHashSet<>(builder.modifiers));
+		}
+		
+		public @Nullable Float getScale()
+		{
+			return scale;
+		}
+		
+		public @Nullable Integer getDelay()
+		{
+			return delay;
+		}
+		
+		public @Nullable Float2FloatFunction getEasing()
+		{
+			return easing;
+		}
+		
+		public Set<ScaleModifier> getModifiers()
+		{
+			return modifiers;
+		}
+		
+		private void apply(ScaleData data)
+		{
+			if (this.delay != null)
+			{
+				data.setScaleTickDelay(this.delay);
+			}
+			
+			if (this.easing != null)
+			{
+				data.setEasing(this.easing);
+			}
+			
+			if (!this.modifiers.isEmpty())
+			{
+				final SortedSet<ScaleModifier> baseValueModifiers = data.getBaseValueModifiers();
+				
+				for (final ScaleModifier modifier : this.modifiers)
+				{
+					baseValueModifiers.add(modifier);
+				}
+			}
+			
+			if (this.scale != null)
+			{
+				data.setTargetScale(this.scale);
+			}
+		}
+		
+		private static class Builder
+		{
+			private Float scale = null;
+			private Integer delay = null;
+			private Float2FloatFunction easing = null;
+			private final Set<ScaleModifier> modifiers = new ObjectLinkedOpenHashSet<>();
+			
+			private Entry build()
+			{
+				return new Entry(this);
+			}
+		}
+	}
+	
+	public static class Builder
+	{
+		private final Map<ScaleType, Entry.Builder> entries = new LinkedHashMap<>();
+		
+		public static Builder create()
+		{
+			return new Builder();
+		}
+		
+		private Builder()
+		{
+		
+		}
+		
+		private Entry.Builder entry(ScaleType type)
+		{
+			return entries.computeIfAbsent(type, t -> new Entry.Builder());
+		}
+		
+		public Builder scale(ScaleType type, float scale)
+		{
+			entry(type).scale = scale;
+			return this;
+		}
+		
+		public Builder delay(ScaleType type, int ticks)
+		{
+			entry(type).delay = ticks;
+			return this;
+		}
+		
+		public Builder easing(ScaleType type, Float2FloatFunction easing)
+		{
+			entry(type).easing = easing;
+			return this;
+		}
+		
+		public Builder modifier(ScaleType type, ScaleModifier modifier)
+		{
+			entry(type).modifiers.add(modifier);
+			return this;
+		}
+		
+		public ScaleProfile build()
+		{
+			return new ScaleProfile(this);
+		}
+	}
+}
@@ -6,12 +6,11 @@ import java.util.Map;
 import java.util.function.Supplier;
 
 import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-import com.google.common.collect.Maps;
 
 import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
 import net.minecraft.util.Identifier;
 import virtuoel.pehkui.Pehkui;
+import virtuoel.pehkui.util.CopyOnWriteBiMap;
 
 public class ScaleRegistries
 {
@@ -25,7 +24,14 @@ public class ScaleRegistries
 	
 	public static <E> E register(Map<Identifier, E> registry, Identifier id, E entry)
 	{
-		return registry.computeIfAbsent(id, i -> entry);
+		final E registered = registry.computeIfAbsent(id, i -> entry);
+		
+		if (registry == SCALE_TYPES)
+		{
+			PehkuiConfigSnapshot.invalidate();
+		}
+		
+		return registered;
 	}
 	
 	public static <E> E getEntry(Map<Identifier, E> registry, Identifier id)
@@ -50,7 +56,7 @@ public class ScaleRegistries
 	
 	private static <E> BiMap<Identifier, E> create(Identifier id, Identifier defaultId, Supplier<E> defaultEntry)
 	{
-		final BiMap<Identifier, E> registry = Maps.synchronizedBiMap(HashBiMap.create());
+		final BiMap<Identifier, E> registry = new CopyOnWriteBiMap<>();
 		REGISTRY_IDS.put(registry, id);
 		DEFAULT_IDS.put(id, defaultId);
 		DEFAULT_ENTRIES.put(id, defaultEntry);
@@ -0,0 +1,137 @@
+package virtuoel.pehkui.api;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import virtuoel.pehkui.util.PehkuiEntityExtensions;
+
+/**
+ * Immutable copy of an entity's scales, published at the end of the entity's tick whenever any of them changed.
+ * <p>Snapshots are safe to read from any thread without locking, unlike {@link ScaleData}, which must only be used from the thread ticking its entity.
+ * Values lag behind the entity's scale data by up to a tick.
+ * 
+ * @see {@link ScaleSnapshot#of(Entity)}
+ */
+public final class ScaleSnapshot
+{
+	/**
+	 * Published for entities that have not ticked yet.
+	 */
+	public static final ScaleSnapshot EMPTY = new ScaleSnapshot(Collections.emptyMap());
+	
+	private final Map<ScaleType, Entry> entries;
+	
+	private ScaleSnapshot(Map<ScaleType, Entry> entries)
+	{
+		this.entries = entries;
+	}
+	
+	/**
+	 * @return The latest snapshot published for the given entity. May be called from any thread.
+	 */
+	public static ScaleSnapshot of(Entity entity)
+	{
+		return ((PehkuiEntityExtensions) entity).pehkui_getScaleSnapshot();
+	}
+	
+	/**
+	 * Copies the current values of all of an entity's scale types. Must be called from the thread ticking the entity.
+	 */
+	@ApiStatus.Internal
+	public static ScaleSnapshot capture(Entity entity)
+	{
+		final PehkuiEntityExtensions e = (PehkuiEntityExtensions) entity;
+		final Map<ScaleType, Entry> entries = new Reference2ObjectOpenHashMap<>();
+		
+		for (final ScaleType type : ScaleRegistries.SCALE_TYPES.values())
+		{
+			entries.put(type, new Entry(e.pehkui_getScaleData(type)));
+		}
+		
+		return new ScaleSnapshot(Collections.unmodifiableMap(entries));
+	}
+	
+	public Map<ScaleType, Entry> getEntries()
+	{
+		return entries;
+	}
+	
+	public @Nullable Entry get(ScaleType type)
+	{
+		return entries.get(type);
+	}
+	
+	/**
+	 * @return Scale with modifiers applied, or the scale type's default base scale if it was not captured
+	 */
+	public float getScale(ScaleType type)
+	{
+		final Entry entry = entries.get(type);
+		
+		return entry == null ? type.getDefaultBaseScale() : entry.getScale();
+	}
+	
+	public static final class Entry
+	{
+		private final float scale;
+		private final float prevScale;
+		private final float baseScale;
+		private final float targetScale;
+		private final int scaleTicks;
+		private final int scaleTickDelay;
+		
+		private Entry(ScaleData data)
+		{
+			this.scale = data.getScale();
+			this.prevScale = data.getPrevScale();
+			this.baseScale = data.getBaseScale();
+			this.targetScale = data.getTargetScale();
+			this.scaleTicks = data.getScaleTicks();
+			this.scaleTickDelay = data.getScaleTickDelay();
+		}
+		
+		/**
+		 * @return Scale with modifiers applied
+		 */
+		public float getScale()
+		{
+			return scale;
+		}
+		
+		public float getPrevScale()
+		{
+			return prevScale;
+		}
+		
+		/**
+		 * @return Scale without any modifiers applied
+		 */
+		public float getBaseScale()
+		{
+			return baseScale;
+		}
+		
+		public float getTargetScale()
+		{
+			return targetScale;
+		}
+		
+		/**
+		 * @return Ticks elapsed towards the target scale
+		 */
+		public int getScaleTicks()
+		{
+			return scaleTicks;
+		}
+		
+		public int getScaleTickDelay()
+		{
+			return scaleTickDelay;
+		}
+	}
+}
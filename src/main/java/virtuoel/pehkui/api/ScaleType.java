@@ -14,6 +14,7 @@ import net.fabricmc.fabric.api.event.EventFactory;
 import net.minecraft.entity.Entity;
 import virtuoel.pehkui.util.BackwardsCompatibility;
 import virtuoel.pehkui.util.PehkuiEntityExtensions;
+import virtuoel.pehkui.util.ScaleIdentitySummary;
 import virtuoel.pehkui.util.ScaleUtils;
 
 public class ScaleType
@@ -31,6 +32,7 @@ public class ScaleType
 		this.defaultPersistence = builder.defaultPersistence;
 		this.defaultEasing = builder.defaultEasing;
 		this.affectsDimensions = builder.affectsDimensions;
+		this.identityBit = ScaleIdentitySummary.nextBit();
 	}
 	
 	public ScaleData getScaleData(Entity entity)
@@ -38,6 +40,17 @@ public class ScaleType
 		return ((PehkuiEntityExtensions) entity).pehkui_getScaleData(this);
 	}
 	
+	private final long identityBit;
+	
+	/**
+	 * @return This type's bit in the masks of {@link ScaleIdentitySummary}
+	 */
+	@ApiStatus.Internal
+	public final long getIdentityBit()
+	{
+		return identityBit;
+	}
+	
 	private boolean affectsDimensions;
 	
 	@ApiStatus.Internal
@@ -255,6 +268,12 @@ public class ScaleType
 			if (e != null)
 			{
 				final PehkuiEntityExtensions en = (PehkuiEntityExtensions) e;
+				
+				if (en.pehkui_deferDimensionsUpdate())
+				{
+					return;
+				}
+				
 				final boolean onGround = en.pehkui_getOnGround();
 				
 				e.calculateDimensions();
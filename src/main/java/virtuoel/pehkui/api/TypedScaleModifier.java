@@ -51,4 +51,10 @@ public class TypedScaleModifier extends ScaleModifier
 		
 		return type == scaleData.getScaleType() ? modifiedScale : (float) operation.applyAsDouble(modifiedScale, type.getScaleData(scaleData.getEntity()).getPrevScale());
 	}
+	
+	@Override
+	public boolean preservesIdentity()
+	{
+		return getClass() == TypedScaleModifier.class && operation.applyAsDouble(1.0D, 1.0D) == 1.0D;
+	}
 }
@@ -17,6 +17,11 @@ public abstract class ArmorStandEntityMixin
 	@Inject(at = @At("RETURN"), method = "getDimensions", cancellable = true)
 	private void pehkui$getDimensions(EntityPose pose, CallbackInfoReturnable<EntityDimensions> info)
 	{
+		if (ScaleUtils.isUnscaled((Entity) (Object) this))
+		{
+			return;
+		}
+		
 		info.setReturnValue(info.getReturnValue().scaled(ScaleUtils.getBoundingBoxWidthScale((Entity) (Object) this), ScaleUtils.getBoundingBoxHeightScale((Entity) (Object) this)));
 	}
 }
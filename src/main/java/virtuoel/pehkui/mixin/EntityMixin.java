@@ -26,13 +26,21 @@ import net.minecraft.entity.ItemEntity;
 import net.minecraft.entity.MovementType;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
 import virtuoel.pehkui.Pehkui;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 import virtuoel.pehkui.api.ScaleData;
 import virtuoel.pehkui.api.ScaleRegistries;
+import virtuoel.pehkui.api.ScaleSnapshot;
 import virtuoel.pehkui.api.ScaleType;
 import virtuoel.pehkui.server.command.DebugCommand;
+import virtuoel.pehkui.util.OversizedEntityIndex;
 import virtuoel.pehkui.util.PehkuiEntityExtensions;
+import virtuoel.pehkui.util.PublishedReference;
+import virtuoel.pehkui.util.ScaleIdentitySummary;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(Entity.class)
@@ -40,10 +48,27 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 {
 	@Shadow boolean onGround;
 	@Shadow boolean firstUpdate;
+	@Shadow World world;
 	
 	private volatile Map<ScaleType, ScaleData> pehkui_scaleTypes = Object2ObjectMaps.synchronize(new Object2ObjectOpenHashMap<>());
 	private boolean pehkui_shouldSyncScales = false;
 	private boolean pehkui_shouldIgnoreScaleNbt = false;
+	private int pehkui_dimensionsBatchDepth = 0;
+	private boolean pehkui_dimensionsUpdatePending = false;
+	private boolean pehkui_oversizedCheckPending = true;
+	private World pehkui_oversizedIndexWorld = null;
+	private int pehkui_scaleVersion = 0;
+	private Box pehkui_interactionBoxSource = null;
+	private int pehkui_interactionBoxVersion = -1;
+	private PehkuiConfigSnapshot pehkui_interactionBoxConfig = null;
+	private Box pehkui_interactionBox = null;
+	private final PublishedReference<ScaleSnapshot> pehkui_scaleSnapshot = PublishedReference.create(ScaleSnapshot.EMPTY);
+	private boolean pehkui_scaleSnapshotPending = true;
+	private Direction pehkui_gravityDirection = null;
+	private World pehkui_gravityDirectionWorld = null;
+	private long pehkui_gravityDirectionTime = -1L;
+	private final PublishedReference<ScaleIdentitySummary.Result> pehkui_scaleSummary = PublishedReference.create(ScaleIdentitySummary.Result.STALE);
+	private volatile int pehkui_scaleSummaryVersion = 0;
 	
 	@Override
 	public ScaleData pehkui_constructScaleData(ScaleType type)
@@ -193,15 +218,148 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 	@Inject(at = @At("HEAD"), method = "tick")
 	private void pehkui$tick(CallbackInfo info)
 	{
-		for (ScaleType type : ScaleRegistries.SCALE_TYPES.values())
+		pehkui_beginDimensionsBatch();
+		
+		try
+		{
+			for (ScaleType type : ScaleRegistries.SCALE_TYPES.values())
+			{
+				ScaleUtils.tickScale(pehkui_getScaleData(type));
+			}
+		}
+		finally
+		{
+			pehkui_endDimensionsBatch();
+		}
+		
+		if (pehkui_oversizedCheckPending || (pehkui_oversizedIndexWorld != null && pehkui_oversizedIndexWorld != world))
+		{
+			pehkui_oversizedCheckPending = false;
+			pehkui_oversizedIndexWorld = OversizedEntityIndex.update((Entity) (Object) this, pehkui_oversizedIndexWorld);
+		}
+		
+		if (pehkui_scaleSnapshotPending)
+		{
+			pehkui_scaleSnapshotPending = false;
+			pehkui_scaleSnapshot.set(ScaleSnapshot.capture((Entity) (Object) this));
+		}
+	}
+	
+	@Override
+	public void pehkui_onScalesChanged()
+	{
+		pehkui_scaleVersion++;
+		pehkui_oversizedCheckPending = true;
+		pehkui_scaleSnapshotPending = true;
+		pehkui_scaleSummaryVersion++;
+	}
+	
+	@Override
+	public ScaleSnapshot pehkui_getScaleSnapshot()
+	{
+		return pehkui_scaleSnapshot.get();
+	}
+	
+	@Override
+	public void pehkui_invalidateScaleSnapshot()
+	{
+		pehkui_scaleSnapshotPending = true;
+		pehkui_scaleSummaryVersion++;
+	}
+	
+	@Override
+	public long pehkui_getNonIdentityScales()
+	{
+		final int version = pehkui_scaleSummaryVersion;
+		final int generation = ScaleIdentitySummary.getGeneration();
+		final ScaleIdentitySummary.Result summary = pehkui_scaleSummary.get();
+		
+		if (summary.isCurrent(generation, version))
+		{
+			return summary.getNonIdentityScales();
+		}
+		
+		final ScaleIdentitySummary.Result computed = new ScaleIdentitySummary.Result(ScaleIdentitySummary.compute((Entity) (Object) this), generation, version);
+		pehkui_scaleSummary.set(computed);
+		
+		return computed.getNonIdentityScales();
+	}
+	
+	@Override
+	public void pehkui_invalidateScaleSummary()
+	{
+		pehkui_scaleSummaryVersion++;
+	}
+	
+	@Override
+	public Direction pehkui_getCachedGravityDirection(long time)
+	{
+		return pehkui_gravityDirectionWorld == world && pehkui_gravityDirectionTime == time ? pehkui_gravityDirection : null;
+	}
+	
+	@Override
+	public void pehkui_cacheGravityDirection(Direction direction, long time)
+	{
+		pehkui_gravityDirection = direction;
+		pehkui_gravityDirectionWorld = world;
+		pehkui_gravityDirectionTime = time;
+	}
+	
+	@Override
+	public int pehkui_getScaleVersion()
+	{
+		return pehkui_scaleVersion;
+	}
+	
+	@Override
+	public Box pehkui_getInteractionBox()
+	{
+		final Box bounds = ((Entity) (Object) this).getBoundingBox();
+		final int version = pehkui_scaleVersion;
+		final PehkuiConfigSnapshot config = PehkuiConfigSnapshot.get();
+		
+		if (bounds == pehkui_interactionBoxSource && version == pehkui_interactionBoxVersion && config == pehkui_interactionBoxConfig)
+		{
+			return pehkui_interactionBox;
+		}
+		
+		final Entity self = (Entity) (Object) this;
+		final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(self);
+		final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(self);
+		
+		Box expanded = bounds;
+		
+		if (interactionWidth != 1.0F || interactionHeight != 1.0F)
 		{
-			ScaleUtils.tickScale(pehkui_getScaleData(type));
+			final double scaledXLength = bounds.getXLength() * 0.5D * (interactionWidth - 1.0F);
+			final double scaledYLength = bounds.getYLength() * 0.5D * (interactionHeight - 1.0F);
+			final double scaledZLength = bounds.getZLength() * 0.5D * (interactionWidth - 1.0F);
+			
+			expanded = bounds.expand(scaledXLength, scaledYLength, scaledZLength);
 		}
+		
+		pehkui_interactionBox = expanded;
+		pehkui_interactionBoxVersion = version;
+		pehkui_interactionBoxConfig = config;
+		pehkui_interactionBoxSource = bounds;
+		
+		return expanded;
+	}
+	
+	@Inject(at = @At("RETURN"), method = "calculateDimensions")
+	private void pehkui$calculateDimensions(CallbackInfo info)
+	{
+		pehkui_oversizedCheckPending = true;
 	}
 	
 	@Inject(at = @At("RETURN"), method = "getDimensions", cancellable = true)
 	private void pehkui$getDimensions(EntityPose pose, CallbackInfoReturnable<EntityDimensions> info)
 	{
+		if (ScaleUtils.isUnscaled((Entity) (Object) this))
+		{
+			return;
+		}
+		
 		final float widthScale = ScaleUtils.getBoundingBoxWidthScale((Entity) (Object) this);
 		final float heightScale = ScaleUtils.getBoundingBoxHeightScale((Entity) (Object) this);
 		
@@ -221,6 +379,11 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 	@ModifyConstant(method = "move", constant = @Constant(doubleValue = 1.0E-7D))
 	private double pehkui$move$minVelocity(double value)
 	{
+		if (ScaleUtils.isUnscaled((Entity) (Object) this))
+		{
+			return value;
+		}
+		
 		final float scale = ScaleUtils.getMotionScale((Entity) (Object) this);
 		
 		return scale < 1.0F ? scale * scale * value : value;
@@ -229,7 +392,7 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 	@ModifyArg(method = "move", index = 0, at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;adjustMovementForSneaking(Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/entity/MovementType;)Lnet/minecraft/util/math/Vec3d;"))
 	private Vec3d pehkui$move$adjustMovementForSneaking(Vec3d movement, MovementType type)
 	{
-		if (type == MovementType.SELF || type == MovementType.PLAYER)
+		if ((type == MovementType.SELF || type == MovementType.PLAYER) && !ScaleUtils.isUnscaled((Entity) (Object) this))
 		{
 			return movement.multiply(ScaleUtils.getMotionScale((Entity) (Object) this));
 		}
@@ -240,6 +403,11 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 	@ModifyArgs(method = "pushAwayFrom", at = @At(value = "INVOKE", ordinal = 0, target = "Lnet/minecraft/entity/Entity;addVelocity(DDD)V"))
 	private void pehkui$pushSelfAwayFrom$other(Args args, Entity other)
 	{
+		if (ScaleUtils.isUnscaled(other))
+		{
+			return;
+		}
+		
 		final float otherScale = ScaleUtils.getMotionScale(other);
 		
 		if (otherScale != 1.0F)
@@ -252,6 +420,11 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 	@ModifyArgs(method = "pushAwayFrom", at = @At(value = "INVOKE", ordinal = 1, target = "Lnet/minecraft/entity/Entity;addVelocity(DDD)V"))
 	private void pehkui$pushOtherAwayFrom$self(Args args, Entity other)
 	{
+		if (ScaleUtils.isUnscaled((Entity) (Object) this))
+		{
+			return;
+		}
+		
 		final float ownScale = ScaleUtils.getMotionScale((Entity) (Object) this);
 		
 		if (ownScale != 1.0F)
@@ -276,6 +449,46 @@ public abstract class EntityMixin implements PehkuiEntityExtensions
 		return this.firstUpdate;
 	}
 	
+	@Override
+	public void pehkui_beginDimensionsBatch()
+	{
+		pehkui_dimensionsBatchDepth++;
+	}
+	
+	@Override
+	public void pehkui_endDimensionsBatch()
+	{
+		if (--pehkui_dimensionsBatchDepth > 0)
+		{
+			return;
+		}
+		
+		pehkui_dimensionsBatchDepth = 0;
+		
+		if (pehkui_dimensionsUpdatePending)
+		{
+			pehkui_dimensionsUpdatePending = false;
+			
+			final boolean onGround = pehkui_getOnGround();
+			
+			((Entity) (Object) this).calculateDimensions();
+			
+			pehkui_setOnGround(onGround);
+		}
+	}
+	
+	@Override
+	public boolean pehkui_deferDimensionsUpdate()
+	{
+		if (pehkui_dimensionsBatchDepth > 0)
+		{
+			pehkui_dimensionsUpdatePending = true;
+			return true;
+		}
+		
+		return false;
+	}
+	
 	@Override
 	public boolean pehkui_getOnGround()
 	{
@@ -15,20 +15,6 @@ public class EntitySelectorMixin
 	@Redirect(method = "method_9810", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;getBoundingBox()Lnet/minecraft/util/math/Box;"))
 	private static Box pehkui$method_9810$getBoundingBox(Entity obj)
 	{
-		final Box bounds = obj.getBoundingBox();
-		
-		final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(obj);
-		final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(obj);
-		
-		if (interactionWidth != 1.0F || interactionHeight != 1.0F)
-		{
-			final double scaledXLength = bounds.getXLength() * 0.5D * (interactionWidth - 1.0F);
-			final double scaledYLength = bounds.getYLength() * 0.5D * (interactionHeight - 1.0F);
-			final double scaledZLength = bounds.getZLength() * 0.5D * (interactionWidth - 1.0F);
-			
-			return bounds.expand(scaledXLength, scaledYLength, scaledZLength);
-		}
-		
-		return bounds;
+		return ScaleUtils.getInteractionBox(obj);
 	}
 }
@@ -14,6 +14,8 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import net.minecraft.entity.Entity;
 import net.minecraft.network.Packet;
 import net.minecraft.server.network.EntityTrackerEntry;
+import net.minecraft.server.network.ServerPlayerEntity;
+import virtuoel.pehkui.util.PehkuiServerPlayerExtensions;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(EntityTrackerEntry.class)
@@ -37,9 +39,13 @@ public abstract class EntityTrackerEntryMixin
 	@ModifyConstant(method = "tick", constant = @Constant(doubleValue = 7.62939453125E-6D))
 	private double pehkui$tick$minimumSquaredDistance(double value)
 	{
-		final double scale = ScaleUtils.getMotionScale(entity);
-		
-		return scale < 1.0D ? value * scale * scale : value;
+		return ScaleUtils.getPositionSyncThreshold(entity, value);
+	}
+	
+	@Inject(at = @At("HEAD"), method = "stopTracking")
+	private void pehkui$stopTracking(ServerPlayerEntity player, CallbackInfo info)
+	{
+		((PehkuiServerPlayerExtensions) player).pehkui_getExtendedTrackingBudget().release(entity);
 	}
 	
 	@Inject(at = @At("HEAD"), method = "syncEntityData")
@@ -24,9 +24,11 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
-import virtuoel.pehkui.api.PehkuiConfig;
+import net.minecraft.world.World;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 import virtuoel.pehkui.util.MulticonnectCompatibility;
 import virtuoel.pehkui.util.PehkuiBlockStateExtensions;
+import virtuoel.pehkui.util.PehkuiChunkExtensions;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(LivingEntity.class)
@@ -35,6 +37,11 @@ public abstract class LivingEntityMixin
 	@ModifyArg(method = "getEyeHeight", index = 1, at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/LivingEntity;getActiveEyeHeight(Lnet/minecraft/entity/EntityPose;Lnet/minecraft/entity/EntityDimensions;)F"))
 	private EntityDimensions pehkui$getEyeHeight$dimensions(EntityDimensions dimensions)
 	{
+		if (ScaleUtils.isUnscaled((Entity) (Object) this))
+		{
+			return dimensions;
+		}
+		
 		return dimensions.scaled(1.0F / ScaleUtils.getEyeHeightScale((Entity) (Object) this));
 	}
 	
@@ -45,7 +52,7 @@ public abstract class LivingEntityMixin
 		
 		if (scale != 1.0F)
 		{
-			if (PehkuiConfig.COMMON.scaledFallDamage.get())
+			if (PehkuiConfigSnapshot.get().scaledFallDamage())
 			{
 				return value / scale;
 			}
@@ -57,7 +64,7 @@ public abstract class LivingEntityMixin
 	@Inject(method = "getEyeHeight", at = @At("RETURN"), cancellable = true)
 	private void pehkui$getEyeHeight(EntityPose pose, EntityDimensions dimensions, CallbackInfoReturnable<Float> info)
 	{
-		if (pose != EntityPose.SLEEPING)
+		if (pose != EntityPose.SLEEPING && !ScaleUtils.isUnscaled((Entity) (Object) this))
 		{
 			final float scale = ScaleUtils.getEyeHeightScale((Entity) (Object) this);
 			
@@ -77,7 +84,7 @@ public abstract class LivingEntityMixin
 		
 		if (scale < 1.0F)
 		{
-			final double min = scale * MulticonnectCompatibility.INSTANCE.getProtocolDependantValue(ver -> ver <= 47, 0.005D, 0.003D);
+			final double min = scale * MulticonnectCompatibility.INSTANCE.getProtocolDependantValue(self.world, ver -> ver <= 47, 0.005D, 0.003D);
 			
 			double vX = velocity.x;
 			double vY = velocity.y;
@@ -176,35 +183,65 @@ public abstract class LivingEntityMixin
 			final int minZ = MathHelper.floor(bounds.minZ + halfUnscaledZLength);
 			final int maxZ = MathHelper.floor(bounds.maxZ - halfUnscaledZLength);
 			
-			for (final BlockPos pos : BlockPos.iterate(minX, minY, minZ, maxX, minY, maxZ))
+			if (pehkui_isOnScaffolding(self.world, minX, minY, minZ, maxX, maxZ))
 			{
-				if (((PehkuiBlockStateExtensions) self.world.getBlockState(pos)).pehkui_getBlock() instanceof ScaffoldingBlock)
-				{
-					final Vec3d prev = info.getReturnValue();
-					info.setReturnValue(new Vec3d(prev.x, Math.max(self.getVelocity().y, -0.15D), prev.z));
-					break;
-				}
+				final Vec3d prev = info.getReturnValue();
+				info.setReturnValue(new Vec3d(prev.x, Math.max(self.getVelocity().y, -0.15D), prev.z));
 			}
 		}
 	}
 	
-	@Redirect(method = "tickCramming", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/LivingEntity;getBoundingBox()Lnet/minecraft/util/math/Box;"))
-	private Box pehkui$tickCramming$getBoundingBox(LivingEntity obj)
+	private World pehkui_scaffoldingWorld = null;
+	private int pehkui_scaffoldingMinX, pehkui_scaffoldingY, pehkui_scaffoldingMinZ, pehkui_scaffoldingMaxX, pehkui_scaffoldingMaxZ;
+	private long pehkui_scaffoldingStamp = 0;
+	private boolean pehkui_scaffoldingFound = false;
+	
+	/**
+	 * Caches the result for the last footprint checked, until the entity moves to a different footprint or a block changes in one of its chunks.
+	 */
+	private boolean pehkui_isOnScaffolding(World world, int minX, int y, int minZ, int maxX, int maxZ)
 	{
-		final Box bounds = obj.getBoundingBox();
+		long stamp = 0;
+		for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++)
+		{
+			for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++)
+			{
+				stamp = Math.max(stamp, ((PehkuiChunkExtensions) world.getChunk(chunkX, chunkZ)).pehkui_getModificationStamp());
+			}
+		}
 		
-		final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(obj);
-		final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(obj);
+		if (world == pehkui_scaffoldingWorld && stamp == pehkui_scaffoldingStamp &&
+			minX == pehkui_scaffoldingMinX && y == pehkui_scaffoldingY && minZ == pehkui_scaffoldingMinZ &&
+			maxX == pehkui_scaffoldingMaxX && maxZ == pehkui_scaffoldingMaxZ)
+		{
+			return pehkui_scaffoldingFound;
+		}
 		
-		if (interactionWidth != 1.0F || interactionHeight != 1.0F)
+		boolean found = false;
+		for (final BlockPos pos : BlockPos.iterate(minX, y, minZ, maxX, y, maxZ))
 		{
-			final double scaledXLength = bounds.getXLength() * 0.5D * (interactionWidth - 1.0F);
-			final double scaledYLength = bounds.getYLength() * 0.5D * (interactionHeight - 1.0F);
-			final double scaledZLength = bounds.getZLength() * 0.5D * (interactionWidth - 1.0F);
-			
-			return bounds.expand(scaledXLength, scaledYLength, scaledZLength);
+			if (((PehkuiBlockStateExtensions) world.getBlockState(pos)).pehkui_getBlock() instanceof ScaffoldingBlock)
+			{
+				found = true;
+				break;
+			}
 		}
 		
-		return bounds;
+		pehkui_scaffoldingWorld = world;
+		pehkui_scaffoldingStamp = stamp;
+		pehkui_scaffoldingMinX = minX;
+		pehkui_scaffoldingY = y;
+		pehkui_scaffoldingMinZ = minZ;
+		pehkui_scaffoldingMaxX = maxX;
+		pehkui_scaffoldingMaxZ = maxZ;
+		pehkui_scaffoldingFound = found;
+		
+		return found;
+	}
+	
+	@Redirect(method = "tickCramming", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/LivingEntity;getBoundingBox()Lnet/minecraft/util/math/Box;"))
+	private Box pehkui$tickCramming$getBoundingBox(LivingEntity obj)
+	{
+		return ScaleUtils.getInteractionBox(obj);
 	}
 }
@@ -1,7 +1,6 @@
 package virtuoel.pehkui.mixin;
 
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.At.Shift;
 import org.spongepowered.asm.mixin.injection.Constant;
@@ -30,6 +29,11 @@ public abstract class PlayerEntityMixin
 	@Inject(at = @At("RETURN"), method = "getDimensions", cancellable = true)
 	private void pehkui$getDimensions(EntityPose pose, CallbackInfoReturnable<EntityDimensions> info)
 	{
+		if (ScaleUtils.isUnscaled((Entity) (Object) this))
+		{
+			return;
+		}
+		
 		info.setReturnValue(info.getReturnValue().scaled(ScaleUtils.getBoundingBoxWidthScale((Entity) (Object) this), ScaleUtils.getBoundingBoxHeightScale((Entity) (Object) this)));
 	}
 	
@@ -119,31 +123,31 @@ public abstract class PlayerEntityMixin
 		return scale != 1.0F ? scale * value : value;
 	}
 	
-	@Unique private static final ThreadLocal<Float> pehkui$WIDTH_SCALE = ThreadLocal.withInitial(() -> 1.0F);
-	@Unique private static final ThreadLocal<Float> pehkui$HEIGHT_SCALE = ThreadLocal.withInitial(() -> 1.0F);
+	private float pehkui_attackWidthScale = 1.0F;
+	private float pehkui_attackHeightScale = 1.0F;
 	
 	@Inject(method = "attack", at = @At("HEAD"))
 	private void pehkui$attack(Entity target, CallbackInfo info)
 	{
-		pehkui$WIDTH_SCALE.set(ScaleUtils.getBoundingBoxWidthScale(target));
-		pehkui$HEIGHT_SCALE.set(ScaleUtils.getBoundingBoxHeightScale(target));
+		pehkui_attackWidthScale = ScaleUtils.getBoundingBoxWidthScale(target);
+		pehkui_attackHeightScale = ScaleUtils.getBoundingBoxHeightScale(target);
 	}
 	
 	@ModifyArg(method = "attack(Lnet/minecraft/entity/Entity;)V", index = 0, at = @At(value = "INVOKE", target = "Lnet/minecraft/util/math/Box;expand(DDD)Lnet/minecraft/util/math/Box;"))
 	private double pehkui$attack$expand$x(double value)
 	{
-		return value * pehkui$WIDTH_SCALE.get();
+		return value * pehkui_attackWidthScale;
 	}
 	
 	@ModifyArg(method = "attack(Lnet/minecraft/entity/Entity;)V", index = 1, at = @At(value = "INVOKE", target = "Lnet/minecraft/util/math/Box;expand(DDD)Lnet/minecraft/util/math/Box;"))
 	private double pehkui$attack$expand$y(double value)
 	{
-		return value * pehkui$HEIGHT_SCALE.get();
+		return value * pehkui_attackHeightScale;
 	}
 	
 	@ModifyArg(method = "attack(Lnet/minecraft/entity/Entity;)V", index = 2, at = @At(value = "INVOKE", target = "Lnet/minecraft/util/math/Box;expand(DDD)Lnet/minecraft/util/math/Box;"))
 	private double pehkui$attack$expand$z(double value)
 	{
-		return value * pehkui$WIDTH_SCALE.get();
+		return value * pehkui_attackWidthScale;
 	}
 }
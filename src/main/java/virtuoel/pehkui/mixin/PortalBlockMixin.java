@@ -10,7 +10,7 @@ import net.minecraft.block.NetherPortalBlock;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import virtuoel.pehkui.api.PehkuiConfig;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 import virtuoel.pehkui.util.PehkuiBlockStateExtensions;
 
 @Mixin(NetherPortalBlock.class)
@@ -19,7 +19,7 @@ public abstract class PortalBlockMixin
 	@Inject(at = @At("HEAD"), method = "onEntityCollision", cancellable = true)
 	private void pehkui$onEntityCollision(BlockState state, World world, BlockPos pos, Entity entity, CallbackInfo info)
 	{
-		if (PehkuiConfig.COMMON.accurateNetherPortals.get())
+		if (PehkuiConfigSnapshot.get().accurateNetherPortals())
 		{
 			if (!entity.getBoundingBox().intersects(((PehkuiBlockStateExtensions) state).pehkui_getOutlineShape(world, pos).getBoundingBox().offset(pos)))
 			{
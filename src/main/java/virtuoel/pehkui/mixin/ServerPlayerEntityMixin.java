@@ -6,11 +6,21 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import net.minecraft.server.network.ServerPlayerEntity;
+import virtuoel.pehkui.util.ExtendedTrackingBudget;
+import virtuoel.pehkui.util.PehkuiServerPlayerExtensions;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(ServerPlayerEntity.class)
-public abstract class ServerPlayerEntityMixin
+public abstract class ServerPlayerEntityMixin implements PehkuiServerPlayerExtensions
 {
+	private final ExtendedTrackingBudget pehkui_extendedTrackingBudget = new ExtendedTrackingBudget();
+	
+	@Override
+	public ExtendedTrackingBudget pehkui_getExtendedTrackingBudget()
+	{
+		return pehkui_extendedTrackingBudget;
+	}
+	
 	@Inject(at = @At("HEAD"), method = "copyFrom")
 	private void pehkui$copyFrom(ServerPlayerEntity oldPlayer, boolean alive, CallbackInfo info)
 	{
@@ -0,0 +1,22 @@
+package virtuoel.pehkui.mixin;
+
+import java.util.function.BooleanSupplier;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import net.minecraft.server.world.ServerWorld;
+import virtuoel.pehkui.util.PehkuiWorldExtensions;
+
+@Mixin(ServerWorld.class)
+public abstract class ServerWorldMixin implements PehkuiWorldExtensions
+{
+	@Inject(method = "tick", at = @At("HEAD"))
+	private void pehkui$tick(BooleanSupplier shouldKeepTicking, CallbackInfo info)
+	{
+		pehkui_getScaleModifierTimers().tick();
+		pehkui_getScaledExplosions().tick();
+	}
+}
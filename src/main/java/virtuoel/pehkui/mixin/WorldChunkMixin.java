@@ -0,0 +1,37 @@
+package virtuoel.pehkui.mixin;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Unique;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.chunk.WorldChunk;
+import virtuoel.pehkui.util.PehkuiChunkExtensions;
+
+@Mixin(WorldChunk.class)
+public abstract class WorldChunkMixin implements PehkuiChunkExtensions
+{
+	@Unique private static final AtomicLong pehkui$MODIFICATION_STAMPS = new AtomicLong();
+	
+	private volatile long pehkui_modificationStamp = pehkui$MODIFICATION_STAMPS.incrementAndGet();
+	
+	@Override
+	public long pehkui_getModificationStamp()
+	{
+		return pehkui_modificationStamp;
+	}
+	
+	@Inject(method = "setBlockState", at = @At("RETURN"))
+	private void pehkui$setBlockState(BlockPos pos, BlockState state, boolean moved, CallbackInfoReturnable<BlockState> info)
+	{
+		if (info.getReturnValue() != null)
+		{
+			pehkui_modificationStamp = pehkui$MODIFICATION_STAMPS.incrementAndGet();
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package virtuoel.pehkui.mixin;
+
+import org.spongepowered.asm.mixin.Mixin;
+
+import net.minecraft.world.World;
+import virtuoel.pehkui.util.CrammingGrid;
+import virtuoel.pehkui.util.OversizedEntityIndex;
+import virtuoel.pehkui.util.PehkuiWorldExtensions;
+import virtuoel.pehkui.util.ScaledExplosionQueue;
+import virtuoel.pehkui.util.TimingWheel;
+
+@Mixin(World.class)
+public abstract class WorldMixin implements PehkuiWorldExtensions
+{
+	private final TimingWheel pehkui_scaleModifierTimers = new TimingWheel();
+	private final OversizedEntityIndex pehkui_oversizedEntities = new OversizedEntityIndex();
+	private final CrammingGrid pehkui_crammingGrid = new CrammingGrid();
+	private final ScaledExplosionQueue pehkui_scaledExplosions = new ScaledExplosionQueue();
+	
+	@Override
+	public TimingWheel pehkui_getScaleModifierTimers()
+	{
+		return pehkui_scaleModifierTimers;
+	}
+	
+	@Override
+	public OversizedEntityIndex pehkui_getOversizedEntities()
+	{
+		return pehkui_oversizedEntities;
+	}
+	
+	@Override
+	public CrammingGrid pehkui_getCrammingGrid()
+	{
+		return pehkui_crammingGrid;
+	}
+	
+	@Override
+	public ScaledExplosionQueue pehkui_getScaledExplosions()
+	{
+		return pehkui_scaledExplosions;
+	}
+}
@@ -2,15 +2,14 @@ package virtuoel.pehkui.mixin.compat116minus;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import net.minecraft.block.entity.BarrelBlockEntity;
 import net.minecraft.entity.player.PlayerEntity;
+import virtuoel.pehkui.util.ContainerViewers;
 import virtuoel.pehkui.util.MixinConstants;
-import virtuoel.pehkui.util.ScaleUtils;
 import virtuoel.pehkui.util.ViewerCountingBlockEntityExtensions;
 
 @Mixin(BarrelBlockEntity.class)
@@ -19,13 +18,12 @@ public class BarrelBlockEntityMixin implements ViewerCountingBlockEntityExtensio
 	@Shadow(remap = false)
 	int field_17583; // UNMAPPED_FIELD
 	
-	@Unique
-	float viewerSearchRange = 5.0F;
+	private final ContainerViewers pehkui_viewers = new ContainerViewers();
 	
 	@Override
-	public float pehkui_getViewerSearchRange()
+	public ContainerViewers pehkui_getViewers()
 	{
-		return viewerSearchRange;
+		return pehkui_viewers;
 	}
 	
 	@Inject(at = @At("HEAD"), method = MixinConstants.ON_OPEN, remap = false)
@@ -34,21 +32,9 @@ public class BarrelBlockEntityMixin implements ViewerCountingBlockEntityExtensio
 		if (field_17583 < 0)
 		{
 			field_17583 = 0;
-			
-			viewerSearchRange = 5.0F;
 		}
 		
-		final float scale = ScaleUtils.getBlockReachScale(player);
-		
-		if (scale != 1.0F)
-		{
-			final float nextRange = 5.0F * scale;
-			
-			if (nextRange > viewerSearchRange)
-			{
-				viewerSearchRange = nextRange;
-			}
-		}
+		pehkui_viewers.add(player);
 	}
 	
 	@Inject(at = @At("HEAD"), method = MixinConstants.ON_CLOSE, remap = false)
@@ -57,8 +43,8 @@ public class BarrelBlockEntityMixin implements ViewerCountingBlockEntityExtensio
 		if (field_17583 <= 1)
 		{
 			field_17583 = 1;
-			
-			viewerSearchRange = 5.0F;
 		}
+		
+		pehkui_viewers.remove(player);
 	}
 }
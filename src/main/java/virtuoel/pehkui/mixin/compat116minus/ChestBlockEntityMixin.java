@@ -2,19 +2,20 @@ package virtuoel.pehkui.mixin.compat116minus;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Constant;
 import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.ModifyConstant;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.block.entity.ChestBlockEntity;
 import net.minecraft.block.entity.LockableContainerBlockEntity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.DoubleInventory;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.screen.GenericContainerScreenHandler;
 import net.minecraft.world.World;
+import virtuoel.pehkui.util.ContainerViewers;
 import virtuoel.pehkui.util.MixinConstants;
-import virtuoel.pehkui.util.ScaleUtils;
 import virtuoel.pehkui.util.ViewerCountingBlockEntityExtensions;
 
 @Mixin(ChestBlockEntity.class)
@@ -23,13 +24,12 @@ public class ChestBlockEntityMixin implements ViewerCountingBlockEntityExtension
 	@Shadow(remap = false)
 	int field_11928; // UNMAPPED_FIELD
 	
-	@Unique
-	float viewerSearchRange = 5.0F;
+	private final ContainerViewers pehkui_viewers = new ContainerViewers();
 	
 	@Override
-	public float pehkui_getViewerSearchRange()
+	public ContainerViewers pehkui_getViewers()
 	{
-		return viewerSearchRange;
+		return pehkui_viewers;
 	}
 	
 	@Inject(at = @At("HEAD"), method = MixinConstants.ON_OPEN, remap = false)
@@ -38,21 +38,9 @@ public class ChestBlockEntityMixin implements ViewerCountingBlockEntityExtension
 		if (field_11928 < 0)
 		{
 			field_11928 = 0;
-			
-			viewerSearchRange = 5.0F;
 		}
 		
-		final float scale = ScaleUtils.getBlockReachScale(player);
-		
-		if (scale != 1.0F)
-		{
-			final float nextRange = 5.0F * scale;
-			
-			if (nextRange > viewerSearchRange)
-			{
-				viewerSearchRange = nextRange;
-			}
-		}
+		pehkui_viewers.add(player);
 	}
 	
 	@Inject(at = @At("HEAD"), method = MixinConstants.ON_CLOSE, remap = false)
@@ -61,19 +49,27 @@ public class ChestBlockEntityMixin implements ViewerCountingBlockEntityExtension
 		if (field_11928 <= 1)
 		{
 			field_11928 = 1;
-			
-			viewerSearchRange = 5.0F;
 		}
+		
+		pehkui_viewers.remove(player);
 	}
 	
-	@ModifyConstant(method = MixinConstants.COUNT_VIEWERS, constant = @Constant(floatValue = 5.0F), remap = false)
-	private static float pehkui$countViewers$distance(float value, World world, LockableContainerBlockEntity container, int x, int y, int z)
+	@Inject(at = @At("HEAD"), method = MixinConstants.COUNT_VIEWERS, cancellable = true, remap = false)
+	private static void pehkui$countViewers(World world, LockableContainerBlockEntity container, int x, int y, int z, CallbackInfoReturnable<Integer> info)
 	{
 		if (container instanceof ViewerCountingBlockEntityExtensions)
 		{
-			return ((ViewerCountingBlockEntityExtensions) container).pehkui_getViewerSearchRange();
+			info.setReturnValue(((ViewerCountingBlockEntityExtensions) container).pehkui_getViewers().count(world, player ->
+			{
+				if (player.currentScreenHandler instanceof GenericContainerScreenHandler)
+				{
+					final Inventory inventory = ((GenericContainerScreenHandler) player.currentScreenHandler).getInventory();
+					
+					return inventory == container || (inventory instanceof DoubleInventory && ((DoubleInventory) inventory).isPart(container));
+				}
+				
+				return false;
+			}));
 		}
-		
-		return value;
 	}
 }
@@ -7,19 +7,52 @@ import org.spongepowered.asm.mixin.Mutable;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import com.mojang.datafixers.util.Pair;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.block.Block;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
 import net.minecraft.world.explosion.Explosion;
 import net.minecraft.world.explosion.ExplosionBehavior;
+import virtuoel.pehkui.util.PehkuiExplosionExtensions;
+import virtuoel.pehkui.util.PehkuiWorldExtensions;
 import virtuoel.pehkui.util.ScaleUtils;
+import virtuoel.pehkui.util.ScaledExplosion;
 
 @Mixin(Explosion.class)
-public abstract class ExplosionMixin
+public abstract class ExplosionMixin implements PehkuiExplosionExtensions
 {
 	@Shadow @Final @Mutable float power;
+	@Shadow @Final World world;
+	@Shadow @Final double x;
+	@Shadow @Final double y;
+	@Shadow @Final double z;
+	@Shadow @Final ExplosionBehavior behavior;
+	
+	private boolean pehkui_scaled = false;
+	private ScaledExplosion pehkui_deferred = null;
+	private ObjectArrayList<Pair<ItemStack, BlockPos>> pehkui_dropCollector = null;
+	
+	@Shadow
+	private static void tryMergeStack(ObjectArrayList<Pair<ItemStack, BlockPos>> stacks, ItemStack stack, BlockPos pos)
+	{
+		throw new AssertionError();
+	}
+	
+	@Override
+	public void pehkui_setDropCollector(ObjectArrayList<Pair<ItemStack, BlockPos>> drops)
+	{
+		this.pehkui_dropCollector = drops;
+	}
 	
 	@Inject(at = @At("RETURN"), method = "<init>(Lnet/minecraft/world/World;Lnet/minecraft/entity/Entity;Lnet/minecraft/entity/damage/DamageSource;Lnet/minecraft/world/explosion/ExplosionBehavior;DDDFZLnet/minecraft/world/explosion/Explosion$DestructionType;)V")
 	private void pehkui$construct(World world, @Nullable Entity entity, @Nullable DamageSource damageSource, @Nullable ExplosionBehavior explosionBehavior, double x, double y, double z, float power, boolean createFire, Explosion.DestructionType blockDestructionType, CallbackInfo info)
@@ -31,7 +64,52 @@ public abstract class ExplosionMixin
 			if (scale != 1.0F)
 			{
 				this.power *= scale;
+				this.pehkui_scaled = true;
 			}
 		}
 	}
+	
+	@Inject(method = "collectBlocksAndDamageEntities", at = @At("HEAD"))
+	private void pehkui$collectBlocksAndDamageEntities(CallbackInfo info)
+	{
+		if (pehkui_scaled && ScaledExplosion.shouldDefer(world, power))
+		{
+			pehkui_deferred = new ScaledExplosion((Explosion) (Object) this, world, behavior, new Vec3d(x, y, z));
+		}
+	}
+	
+	@ModifyVariable(method = "collectBlocksAndDamageEntities", ordinal = 0, at = @At(value = "STORE", ordinal = 0))
+	private float pehkui$collectBlocksAndDamageEntities$rayStrength(float strength)
+	{
+		if (pehkui_deferred != null)
+		{
+			pehkui_deferred.addRay(strength);
+			return 0.0F;
+		}
+		
+		return strength;
+	}
+	
+	@Inject(method = "collectBlocksAndDamageEntities", at = @At("RETURN"))
+	private void pehkui$collectBlocksAndDamageEntities$return(CallbackInfo info)
+	{
+		if (pehkui_deferred != null)
+		{
+			((PehkuiWorldExtensions) world).pehkui_getScaledExplosions().add(pehkui_deferred);
+			pehkui_deferred = null;
+		}
+	}
+	
+	@Redirect(method = "affectWorld", at = @At(value = "INVOKE", target = "Lnet/minecraft/block/Block;dropStack(Lnet/minecraft/world/World;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/item/ItemStack;)V"))
+	private void pehkui$affectWorld$dropStack(World world, BlockPos pos, ItemStack stack)
+	{
+		if (pehkui_dropCollector != null)
+		{
+			tryMergeStack(pehkui_dropCollector, stack, pos);
+		}
+		else
+		{
+			Block.dropStack(world, pos, stack);
+		}
+	}
 }
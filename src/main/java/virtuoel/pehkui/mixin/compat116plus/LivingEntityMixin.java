@@ -1,17 +1,26 @@
 package virtuoel.pehkui.mixin.compat116plus;
 
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Constant;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.ModifyConstant;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import virtuoel.pehkui.util.CrammingGrid;
+import virtuoel.pehkui.util.PehkuiWorldExtensions;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(LivingEntity.class)
@@ -23,6 +32,17 @@ public abstract class LivingEntityMixin extends EntityMixin
 		return ScaleUtils.modifyLimbDistance(value, livingEntity);
 	}
 	
+	@Redirect(method = "tickCramming", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;getOtherEntities(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Box;Ljava/util/function/Predicate;)Ljava/util/List;"))
+	private List<Entity> pehkui$tickCramming$getOtherEntities(World obj, @Nullable Entity except, Box box, Predicate<? super Entity> predicate)
+	{
+		if (except != null && CrammingGrid.shouldUseGrid(box))
+		{
+			return ((PehkuiWorldExtensions) obj).pehkui_getCrammingGrid().getOtherEntities(obj, except, box, predicate);
+		}
+		
+		return obj.getOtherEntities(except, box, predicate);
+	}
+	
 	@Unique BlockPos pehkui$initialClimbingPos = null;
 	
 	@Inject(method = "isClimbing()Z", at = @At(value = "RETURN"), cancellable = true)
@@ -16,25 +16,6 @@ public class SectionedEntityCacheMixin
 	@Redirect(method = "method_31776", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/EntityLike;getBoundingBox()Lnet/minecraft/util/math/Box;"))
 	private static Box pehkui$intersecting$getBoundingBox(EntityLike obj)
 	{
-		final Box bounds = obj.getBoundingBox();
-		
-		if (obj instanceof Entity)
-		{
-			final Entity entity = (Entity) obj;
-			
-			final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(entity);
-			final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(entity);
-			
-			if (interactionWidth != 1.0F || interactionHeight != 1.0F)
-			{
-				final double scaledXLength = bounds.getXLength() * 0.5D * (interactionWidth - 1.0F);
-				final double scaledYLength = bounds.getYLength() * 0.5D * (interactionHeight - 1.0F);
-				final double scaledZLength = bounds.getZLength() * 0.5D * (interactionWidth - 1.0F);
-				
-				return bounds.expand(scaledXLength, scaledYLength, scaledZLength);
-			}
-		}
-		
-		return bounds;
+		return obj instanceof Entity ? ScaleUtils.getInteractionBox((Entity) obj) : obj.getBoundingBox();
 	}
 }
@@ -5,7 +5,7 @@ import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.ModifyArg;
 
 import net.minecraft.entity.Entity;
-import virtuoel.pehkui.api.PehkuiConfig;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(Entity.class)
@@ -18,7 +18,7 @@ public class EntityMixin
 		
 		if (scale != 1.0F)
 		{
-			if (PehkuiConfig.COMMON.scaledFallDamage.get())
+			if (PehkuiConfigSnapshot.get().scaledFallDamage())
 			{
 				return distance * scale;
 			}
@@ -1,5 +1,6 @@
 package virtuoel.pehkui.mixin.compat117plus;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 import org.spongepowered.asm.mixin.Mixin;
@@ -11,6 +12,7 @@ import net.minecraft.entity.projectile.ProjectileUtil;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.World;
+import virtuoel.pehkui.util.EntityRaycastUtils;
 import virtuoel.pehkui.util.ScaleUtils;
 
 @Mixin(ProjectileUtil.class)
@@ -42,23 +44,17 @@ public class ProjectileUtilMixin
 	@Redirect(method = "raycast", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/Entity;getBoundingBox()Lnet/minecraft/util/math/Box;"))
 	private static Box pehkui$raycast$getBoundingBox(Entity obj)
 	{
-		final Box bounds = obj.getBoundingBox();
-		final float margin = obj.getTargetingMargin();
-		
-		final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(obj);
-		final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(obj);
-		
-		if (interactionWidth != 1.0F || interactionHeight != 1.0F)
+		return EntityRaycastUtils.getRaycastBox(obj);
+	}
+	
+	@Redirect(method = "raycast", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;getOtherEntities(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Box;Ljava/util/function/Predicate;)Ljava/util/List;"))
+	private static List<Entity> pehkui$raycast$getOtherEntities(World obj, Entity except, Box box, Predicate<? super Entity> predicate, Entity entity, Vec3d min, Vec3d max, Box searchBox, Predicate<Entity> filter, double maxDistance)
+	{
+		if (EntityRaycastUtils.shouldWalkSections(min, max))
 		{
-			final double scaledXLength = bounds.getXLength() * 0.5D * (interactionWidth - 1.0F);
-			final double scaledYLength = bounds.getYLength() * 0.5D * (interactionHeight - 1.0F);
-			final double scaledZLength = bounds.getZLength() * 0.5D * (interactionWidth - 1.0F);
-			final double scaledMarginWidth = margin * (interactionWidth - 1.0F);
-			final double scaledMarginHeight = margin * (interactionHeight - 1.0F);
-			
-			return bounds.expand(scaledXLength + scaledMarginWidth, scaledYLength + scaledMarginHeight, scaledZLength + scaledMarginWidth);
+			return EntityRaycastUtils.getEntitiesAlongRay(obj, except, min, max, box, predicate);
 		}
 		
-		return bounds;
+		return obj.getOtherEntities(except, box, predicate);
 	}
 }
@@ -2,28 +2,28 @@ package virtuoel.pehkui.mixin.compat117plus;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
-import org.spongepowered.asm.mixin.Unique;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Constant;
 import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.ModifyConstant;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.block.entity.ViewerCountManager;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
-import virtuoel.pehkui.util.ScaleUtils;
+import virtuoel.pehkui.util.ContainerViewers;
 
 @Mixin(ViewerCountManager.class)
-public class ViewerCountManagerMixin
+public abstract class ViewerCountManagerMixin
 {
 	@Shadow
 	int viewerCount;
 	
-	@Unique
-	float viewerSearchRange = 5.0F;
+	@Shadow
+	protected abstract boolean isPlayerViewing(PlayerEntity player);
+	
+	private final ContainerViewers pehkui_viewers = new ContainerViewers();
 	
 	@Inject(at = @At("HEAD"), method = "openContainer(Lnet/minecraft/entity/player/PlayerEntity;Lnet/minecraft/world/World;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;)V")
 	private void pehkui$openContainer(PlayerEntity player, World world, BlockPos pos, BlockState state, CallbackInfo info)
@@ -31,21 +31,9 @@ public class ViewerCountManagerMixin
 		if (viewerCount < 0)
 		{
 			viewerCount = 0;
-			
-			viewerSearchRange = 5.0F;
 		}
 		
-		final float scale = ScaleUtils.getBlockReachScale(player);
-		
-		if (scale != 1.0F)
-		{
-			final float nextRange = 5.0F * scale;
-			
-			if (nextRange > viewerSearchRange)
-			{
-				viewerSearchRange = nextRange;
-			}
-		}
+		pehkui_viewers.add(player);
 	}
 	
 	@Inject(at = @At("HEAD"), method = "closeContainer(Lnet/minecraft/entity/player/PlayerEntity;Lnet/minecraft/world/World;Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;)V")
@@ -54,14 +42,14 @@ public class ViewerCountManagerMixin
 		if (viewerCount <= 1)
 		{
 			viewerCount = 1;
-			
-			viewerSearchRange = 5.0F;
 		}
+		
+		pehkui_viewers.remove(player);
 	}
 	
-	@ModifyConstant(method = "getInRangeViewerCount", constant = @Constant(floatValue = 5.0F))
-	private float pehkui$getInRangeViewerCount$range(float value)
+	@Inject(at = @At("HEAD"), method = "getInRangeViewerCount", cancellable = true)
+	private void pehkui$getInRangeViewerCount(World world, BlockPos pos, CallbackInfoReturnable<Integer> info)
 	{
-		return viewerSearchRange;
+		info.setReturnValue(pehkui_viewers.count(world, this::isPlayerViewing));
 	}
 }
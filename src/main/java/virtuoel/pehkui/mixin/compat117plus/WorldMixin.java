@@ -0,0 +1,36 @@
+package virtuoel.pehkui.mixin.compat117plus;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.TypeFilter;
+import net.minecraft.util.math.Box;
+import net.minecraft.world.World;
+import virtuoel.pehkui.util.PehkuiWorldExtensions;
+
+@Mixin(World.class)
+public abstract class WorldMixin
+{
+	@Inject(method = "getOtherEntities(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Box;Ljava/util/function/Predicate;)Ljava/util/List;", at = @At("RETURN"))
+	private void pehkui$getOtherEntities(@Nullable Entity except, Box box, Predicate<? super Entity> predicate, CallbackInfoReturnable<List<Entity>> info)
+	{
+		((PehkuiWorldExtensions) this).pehkui_getOversizedEntities().collect((World) (Object) this, box, info.getReturnValue(), e -> e != except && predicate.test(e) ? e : null);
+	}
+	
+	@Inject(method = "getEntitiesByType(Lnet/minecraft/util/TypeFilter;Lnet/minecraft/util/math/Box;Ljava/util/function/Predicate;)Ljava/util/List;", at = @At("RETURN"))
+	private <T extends Entity> void pehkui$getEntitiesByType(TypeFilter<Entity, T> filter, Box box, Predicate<? super T> predicate, CallbackInfoReturnable<List<T>> info)
+	{
+		((PehkuiWorldExtensions) this).pehkui_getOversizedEntities().collect((World) (Object) this, box, info.getReturnValue(), e ->
+		{
+			final T entity = filter.downcast(e);
+			return entity != null && predicate.test(entity) ? entity : null;
+		});
+	}
+}
@@ -17,7 +17,7 @@ public class CamelEntityMixin
 	@Inject(at = @At("RETURN"), method = "getDimensions", cancellable = true)
 	private void pehkui$getDimensions(EntityPose pose, CallbackInfoReturnable<EntityDimensions> info)
 	{
-		if (pose == EntityPose.SITTING)
+		if (pose == EntityPose.SITTING && !ScaleUtils.isUnscaled((Entity) (Object) this))
 		{
 			info.setReturnValue(info.getReturnValue().scaled(ScaleUtils.getBoundingBoxWidthScale((Entity) (Object) this), ScaleUtils.getBoundingBoxHeightScale((Entity) (Object) this)));
 		}
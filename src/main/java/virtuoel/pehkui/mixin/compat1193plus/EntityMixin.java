@@ -0,0 +1,30 @@
+package virtuoel.pehkui.mixin.compat1193plus;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.world.World;
+import virtuoel.pehkui.util.CollisionUtils;
+
+@Mixin(Entity.class)
+public abstract class EntityMixin
+{
+	@Redirect(method = "adjustMovementForCollisions(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Vec3d;Lnet/minecraft/util/math/Box;Lnet/minecraft/world/World;Ljava/util/List;)Lnet/minecraft/util/math/Vec3d;", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/World;getBlockCollisions(Lnet/minecraft/entity/Entity;Lnet/minecraft/util/math/Box;)Ljava/lang/Iterable;"))
+	private static Iterable<VoxelShape> pehkui$adjustMovementForCollisions$getBlockCollisions(World obj, @Nullable Entity entity, Box box, @Nullable Entity self, Vec3d movement, Box entityBoundingBox, World world, List<VoxelShape> collisions)
+	{
+		if (CollisionUtils.shouldBoundCollisions(entity, entityBoundingBox))
+		{
+			return CollisionUtils.getBlockCollisions(obj, entity, entityBoundingBox, movement);
+		}
+		
+		return obj.getBlockCollisions(entity, box);
+	}
+}
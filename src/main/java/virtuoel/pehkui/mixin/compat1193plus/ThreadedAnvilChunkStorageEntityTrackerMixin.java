@@ -0,0 +1,23 @@
+package virtuoel.pehkui.mixin.compat1193plus;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.ModifyVariable;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.server.network.ServerPlayerEntity;
+import virtuoel.pehkui.util.ScaleUtils;
+
+@Mixin(targets = "net.minecraft.server.world.ThreadedAnvilChunkStorage$EntityTracker")
+public abstract class ThreadedAnvilChunkStorageEntityTrackerMixin
+{
+	@Shadow @Final Entity entity;
+	
+	@ModifyVariable(method = "updateTrackedStatus(Lnet/minecraft/server/network/ServerPlayerEntity;)V", at = @At(value = "STORE", ordinal = 0), ordinal = 0)
+	private double pehkui$updateTrackedStatus$distance(double value, ServerPlayerEntity player)
+	{
+		return ScaleUtils.getTrackingDistance(entity, player, value);
+	}
+}
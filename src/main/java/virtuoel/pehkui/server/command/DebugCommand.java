@@ -3,9 +3,7 @@ package virtuoel.pehkui.server.command;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
 import java.util.UUID;
 import java.util.function.Consumer;
 
@@ -22,7 +20,6 @@ import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.block.Blocks;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EntityType;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
@@ -39,7 +36,7 @@ import virtuoel.pehkui.api.PehkuiConfig;
 import virtuoel.pehkui.util.ConfigSyncUtils;
 import virtuoel.pehkui.util.I18nUtils;
 import virtuoel.pehkui.util.MixinTargetClasses;
-import virtuoel.pehkui.util.NbtCompoundExtensions;
+import virtuoel.pehkui.util.ScaleResetQueue;
 
 public class DebugCommand
 {
@@ -69,7 +66,7 @@ public class DebugCommand
 									
 									try
 									{
-										MARKED_UUIDS.add(UUID.fromString(uuidString));
+										ScaleResetQueue.INSTANCE.markUuid(UUID.fromString(uuidString));
 									}
 									catch (IllegalArgumentException e)
 									{
@@ -85,12 +82,32 @@ public class DebugCommand
 							.then(CommandManager.argument("username", StringArgumentType.string())
 								.executes(context ->
 								{
-									MARKED_USERNAMES.add(StringArgumentType.getString(context, "username").toLowerCase(Locale.ROOT));
+									ScaleResetQueue.INSTANCE.markUsername(StringArgumentType.getString(context, "username"));
 									
 									return 1;
 								})
 							)
 						)
+						.then(CommandManager.literal("status")
+							.executes(context ->
+							{
+								final ScaleResetQueue queue = ScaleResetQueue.INSTANCE;
+								
+								context.getSource().sendFeedback(I18nUtils.translate("commands.pehkui.debug.delete.status", "Scale resets pending: %d UUIDs and %d usernames. Completed: %d.", queue.getPendingUuidCount(), queue.getPendingUsernameCount(), queue.getCompletedCount()), false);
+								
+								return queue.getPendingCount();
+							})
+						)
+						.then(CommandManager.literal("clear")
+							.executes(context ->
+							{
+								final int cleared = ScaleResetQueue.INSTANCE.clear();
+								
+								context.getSource().sendFeedback(I18nUtils.translate("commands.pehkui.debug.delete.clear", "Cancelled %d pending scale resets.", cleared), false);
+								
+								return cleared;
+							})
+						)
 					)
 					.then(CommandManager.literal("garbage_collect")
 						.executes(context ->
@@ -126,19 +143,9 @@ public class DebugCommand
 		commandDispatcher.register(builder);
 	}
 	
-	private static final Collection<UUID> MARKED_UUIDS = new HashSet<>();
-	private static final Collection<String> MARKED_USERNAMES = new HashSet<>();
-	
 	public static boolean unmarkEntityForScaleReset(final Entity entity, final NbtCompound nbt)
 	{
-		if (entity instanceof PlayerEntity && MARKED_USERNAMES.remove(((PlayerEntity) entity).getGameProfile().getName().toLowerCase(Locale.ROOT)))
-		{
-			return true;
-		}
-		
-		final NbtCompoundExtensions compound = ((NbtCompoundExtensions) nbt);
-		
-		return compound.pehkui_containsUuid("UUID") && MARKED_UUIDS.remove(compound.pehkui_getUuid("UUID"));
+		return ScaleResetQueue.INSTANCE.unmark(entity, nbt);
 	}
 	
 	private static final List<EntityType<? extends Entity>> TYPES = Arrays.asList(
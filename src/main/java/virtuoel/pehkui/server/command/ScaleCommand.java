@@ -13,21 +13,27 @@ import com.mojang.brigadier.arguments.DoubleArgumentType;
 import com.mojang.brigadier.arguments.FloatArgumentType;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
 
 import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.command.EntityDataObject;
 import net.minecraft.command.argument.EntityArgumentType;
+import net.minecraft.command.argument.IdentifierArgumentType;
 import net.minecraft.command.argument.NbtPathArgumentType;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.command.CommandManager;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.text.Text;
+import net.minecraft.util.Identifier;
+import virtuoel.pehkui.Pehkui;
 import virtuoel.pehkui.api.PehkuiConfig;
 import virtuoel.pehkui.api.ScaleData;
 import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.api.ScaleProfile;
 import virtuoel.pehkui.api.ScaleRegistries;
 import virtuoel.pehkui.api.ScaleType;
 import virtuoel.pehkui.api.ScaleTypes;
@@ -36,8 +42,10 @@ import virtuoel.pehkui.command.argument.ScaleModifierArgumentType;
 import virtuoel.pehkui.command.argument.ScaleOperationArgumentType;
 import virtuoel.pehkui.command.argument.ScaleTypeArgumentType;
 import virtuoel.pehkui.mixin.DataCommandInvoker;
+import virtuoel.pehkui.util.CommandUtils;
 import virtuoel.pehkui.util.I18nUtils;
 import virtuoel.pehkui.util.PehkuiEntityExtensions;
+import virtuoel.pehkui.util.ScaleProfileManager;
 
 public class ScaleCommand
 {
@@ -65,6 +73,7 @@ public class ScaleCommand
 		registerEasing(builder);
 		registerPersist(builder);
 		registerNbt(builder);
+		registerProfile(builder);
 		
 		commandDispatcher.register(builder);
 	}
@@ -482,6 +491,37 @@ public class ScaleCommand
 						)
 					)
 				)
+				.then(CommandManager.literal("add_timed")
+					.then(CommandManager.argument("scale_type", ScaleTypeArgumentType.scaleType())
+						.then(CommandManager.argument("scale_modifier", ScaleModifierArgumentType.scaleModifier())
+							.then(CommandManager.argument("ticks", IntegerArgumentType.integer(1))
+								.then(CommandManager.argument("targets", EntityArgumentType.entities())
+									.executes(context ->
+									{
+										for (final Entity e : EntityArgumentType.getEntities(context, "targets"))
+										{
+											final ScaleType type = ScaleTypeArgumentType.getScaleTypeArgument(context, "scale_type");
+											final ScaleModifier modifier = ScaleModifierArgumentType.getScaleModifierArgument(context, "scale_modifier");
+											final ScaleData data = type.getScaleData(e);
+											data.addTimedModifier(modifier, IntegerArgumentType.getInteger(context, "ticks"));
+										}
+										
+										return 1;
+									})
+								)
+								.executes(context ->
+								{
+									final ScaleType type = ScaleTypeArgumentType.getScaleTypeArgument(context, "scale_type");
+									final ScaleModifier modifier = ScaleModifierArgumentType.getScaleModifierArgument(context, "scale_modifier");
+									final ScaleData data = type.getScaleData(context.getSource().getEntityOrThrow());
+									data.addTimedModifier(modifier, IntegerArgumentType.getInteger(context, "ticks"));
+									
+									return 1;
+								})
+							)
+						)
+					)
+				)
 				.then(CommandManager.literal("remove")
 					.then(CommandManager.argument("scale_type", ScaleTypeArgumentType.scaleType())
 						.then(CommandManager.argument("scale_modifier", ScaleModifierArgumentType.scaleModifier())
@@ -524,7 +564,7 @@ public class ScaleCommand
 									final SortedSet<ScaleModifier> baseValueModifiers = data.getBaseValueModifiers();
 									
 									baseValueModifiers.clear();
-									baseValueModifiers.addAll(type.getDefaultBaseValueModifiers());
+									baseValueModifiers.addAll(data.getDefaultBaseValueModifiers());
 								}
 								
 								return 1;
@@ -538,7 +578,7 @@ public class ScaleCommand
 							final SortedSet<ScaleModifier> baseValueModifiers = data.getBaseValueModifiers();
 							
 							baseValueModifiers.clear();
-							baseValueModifiers.addAll(type.getDefaultBaseValueModifiers());
+							baseValueModifiers.addAll(data.getDefaultBaseValueModifiers());
 							
 							return 1;
 						})
@@ -1044,6 +1084,59 @@ public class ScaleCommand
 		return builder;
 	}
 	
+	public static final DynamicCommandExceptionType UNKNOWN_PROFILE_EXCEPTION = new DynamicCommandExceptionType(arg ->
+	{
+		return I18nUtils.translate("commands.pehkui.scale.profile.invalid", "Unknown scale profile '%s'", arg);
+	});
+	
+	private static LiteralArgumentBuilder<ServerCommandSource> registerProfile(final LiteralArgumentBuilder<ServerCommandSource> builder)
+	{
+		builder
+			.then(CommandManager.literal("profile")
+				.then(CommandManager.literal("apply")
+					.then(CommandManager.argument("profile", IdentifierArgumentType.identifier())
+						.suggests((context, suggestionsBuilder) -> CommandUtils.suggestIdentifiersIgnoringNamespace(Pehkui.MOD_ID, ScaleProfileManager.getIds(), suggestionsBuilder))
+						.then(CommandManager.argument("targets", EntityArgumentType.entities())
+							.executes(context ->
+							{
+								final ScaleProfile profile = getProfile(context, "profile");
+								
+								int count = 0;
+								for (final Entity e : EntityArgumentType.getEntities(context, "targets"))
+								{
+									profile.apply(e);
+									count++;
+								}
+								
+								return count;
+							})
+						)
+						.executes(context ->
+						{
+							getProfile(context, "profile").apply(context.getSource().getEntityOrThrow());
+							
+							return 1;
+						})
+					)
+				)
+			);
+		
+		return builder;
+	}
+	
+	private static ScaleProfile getProfile(final CommandContext<ServerCommandSource> context, final String name) throws CommandSyntaxException
+	{
+		final Identifier id = IdentifierArgumentType.getIdentifier(context, name);
+		final ScaleProfile profile = ScaleProfileManager.get(id);
+		
+		if (profile == null)
+		{
+			throw UNKNOWN_PROFILE_EXCEPTION.create(id);
+		}
+		
+		return profile;
+	}
+	
 	private static class EntityScaleDataObject extends EntityDataObject
 	{
 		private final Entity entity;
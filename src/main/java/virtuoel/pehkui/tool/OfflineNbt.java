@@ -0,0 +1,304 @@
+package virtuoel.pehkui.tool;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Minimal NBT reader and writer with no dependency on Minecraft classes, so that offline tools can run against the remapped mod jar.
+ * <p>Compounds are represented as {@link Map}s, lists as {@link ListTag}s, and all other tags as their boxed Java values.
+ */
+public final class OfflineNbt
+{
+	public static final byte END_TYPE = 0;
+	public static final byte BYTE_TYPE = 1;
+	public static final byte SHORT_TYPE = 2;
+	public static final byte INT_TYPE = 3;
+	public static final byte LONG_TYPE = 4;
+	public static final byte FLOAT_TYPE = 5;
+	public static final byte DOUBLE_TYPE = 6;
+	public static final byte BYTE_ARRAY_TYPE = 7;
+	public static final byte STRING_TYPE = 8;
+	public static final byte LIST_TYPE = 9;
+	public static final byte COMPOUND_TYPE = 10;
+	public static final byte INT_ARRAY_TYPE = 11;
+	public static final byte LONG_ARRAY_TYPE = 12;
+	
+	private static final int MAX_DEPTH = 512;
+	
+	public static final class ListTag
+	{
+		public byte elementType;
+		public final List<Object> elements;
+		
+		public ListTag(final byte elementType, final List<Object> elements)
+		{
+			this.elementType = elementType;
+			this.elements = elements;
+		}
+	}
+	
+	public static Map<String, Object> readRoot(final DataInput input) throws IOException
+	{
+		final byte type = input.readByte();
+		
+		if (type != COMPOUND_TYPE)
+		{
+			throw new IOException("Root tag must be a compound, found type " + type);
+		}
+		
+		input.readUTF();
+		
+		return readCompound(input, 0);
+	}
+	
+	public static void writeRoot(final Map<String, Object> root, final DataOutput output) throws IOException
+	{
+		output.writeByte(COMPOUND_TYPE);
+		output.writeUTF("");
+		writeCompound(root, output);
+	}
+	
+	private static Map<String, Object> readCompound(final DataInput input, final int depth) throws IOException
+	{
+		if (depth > MAX_DEPTH)
+		{
+			throw new IOException("NBT nested too deeply");
+		}
+		
+		final Map<String, Object> compound = new LinkedHashMap<>();
+		
+		byte type;
+		while ((type = input.readByte()) != END_TYPE)
+		{
+			final String key = input.readUTF();
+			compound.put(key, readPayload(type, input, depth + 1));
+		}
+		
+		return compound;
+	}
+	
+	private static Object readPayload(final byte type, final DataInput input, final int depth) throws IOException
+	{
+		switch (type)
+		{
+			case BYTE_TYPE:
+				return input.readByte();
+			case SHORT_TYPE:
+				return input.readShort();
+			case INT_TYPE:
+				return input.readInt();
+			case LONG_TYPE:
+				return input.readLong();
+			case FLOAT_TYPE:
+				return input.readFloat();
+			case DOUBLE_TYPE:
+				return input.readDouble();
+			case BYTE_ARRAY_TYPE:
+			{
+				final byte[] array = new byte[input.readInt()];
+				input.readFully(array);
+				return array;
+			}
+			case STRING_TYPE:
+				return input.readUTF();
+			case LIST_TYPE:
+			{
+				final byte elementType = input.readByte();
+				final int size = input.readInt();
+				final List<Object> elements = new ArrayList<>(Math.max(0, size));
+				
+				for (int i = 0; i < size; i++)
+				{
+					elements.add(readPayload(elementType, input, depth + 1));
+				}
+				
+				return new ListTag(elementType, elements);
+			}
+			case COMPOUND_TYPE:
+				return readCompound(input, depth);
+			case INT_ARRAY_TYPE:
+			{
+				final int[] array = new int[input.readInt()];
+				for (int i = 0; i < array.length; i++)
+				{
+					array[i] = input.readInt();
+				}
+				return array;
+			}
+			case LONG_ARRAY_TYPE:
+			{
+				final long[] array = new long[input.readInt()];
+				for (int i = 0; i < array.length; i++)
+				{
+					array[i] = input.readLong();
+				}
+				return array;
+			}
+			default:
+				throw new IOException("Unknown NBT tag type " + type);
+		}
+	}
+	
+	private static void writeCompound(final Map<String, Object> compound, final DataOutput output) throws IOException
+	{
+		for (final Entry<String, Object> entry : compound.entrySet())
+		{
+			final Object value = entry.getValue();
+			output.writeByte(getType(value));
+			output.writeUTF(entry.getKey());
+			writePayload(value, output);
+		}
+		
+		output.writeByte(END_TYPE);
+	}
+	
+	@SuppressWarnings("unchecked")
+	private static void writePayload(final Object value, final DataOutput output) throws IOException
+	{
+		switch (getType(value))
+		{
+			case BYTE_TYPE:
+				output.writeByte((Byte) value);
+				break;
+			case SHORT_TYPE:
+				output.writeShort((Short) value);
+				break;
+			case INT_TYPE:
+				output.writeInt((Integer) value);
+				break;
+			case LONG_TYPE:
+				output.writeLong((Long) value);
+				break;
+			case FLOAT_TYPE:
+				output.writeFloat((Float) value);
+				break;
+			case DOUBLE_TYPE:
+				output.writeDouble((Double) value);
+				break;
+			case BYTE_ARRAY_TYPE:
+			{
+				final byte[] array = (byte[]) value;
+				output.writeInt(array.length);
+				output.write(array);
+				break;
+			}
+			case STRING_TYPE:
+				output.writeUTF((String) value);
+				break;
+			case LIST_TYPE:
+			{
+				final ListTag list = (ListTag) value;
+				output.writeByte(list.elements.isEmpty() ? END_TYPE : list.elementType);
+				output.writeInt(list.elements.size());
+				for (final Object element : list.elements)
+				{
+					writePayload(element, output);
+				}
+				break;
+			}
+			case COMPOUND_TYPE:
+				writeCompound((Map<String, Object>) value, output);
+				break;
+			case INT_ARRAY_TYPE:
+			{
+				final int[] array = (int[]) value;
+				output.writeInt(array.length);
+				for (final int i : array)
+				{
+					output.writeInt(i);
+				}
+				break;
+			}
+			case LONG_ARRAY_TYPE:
+			{
+				final long[] array = (long[]) value;
+				output.writeInt(array.length);
+				for (final long l : array)
+				{
+					output.writeLong(l);
+				}
+				break;
+			}
+			default:
+				throw new IOException("Cannot write NBT value of " + value.getClass());
+		}
+	}
+	
+	public static byte getType(final Object value)
+	{
+		if (value instanceof Byte)
+		{
+			return BYTE_TYPE;
+		}
+		else if (value instanceof Short)
+		{
+			return SHORT_TYPE;
+		}
+		else if (value instanceof Integer)
+		{
+			return INT_TYPE;
+		}
+		else if (value instanceof Long)
+		{
+			return LONG_TYPE;
+		}
+		else if (value instanceof Float)
+		{
+			return FLOAT_TYPE;
+		}
+		else if (value instanceof Double)
+		{
+			return DOUBLE_TYPE;
+		}
+		else if (value instanceof byte[])
+		{
+			return BYTE_ARRAY_TYPE;
+		}
+		else if (value instanceof String)
+		{
+			return STRING_TYPE;
+		}
+		else if (value instanceof ListTag)
+		{
+			return LIST_TYPE;
+		}
+		else if (value instanceof Map)
+		{
+			return COMPOUND_TYPE;
+		}
+		else if (value instanceof int[])
+		{
+			return INT_ARRAY_TYPE;
+		}
+		else if (value instanceof long[])
+		{
+			return LONG_ARRAY_TYPE;
+		}
+		
+		return END_TYPE;
+	}
+	
+	@SuppressWarnings("unchecked")
+	public static Map<String, Object> getCompound(final Map<String, Object> compound, final String key)
+	{
+		final Object value = compound.get(key);
+		return value instanceof Map ? (Map<String, Object>) value : null;
+	}
+	
+	public static ListTag getList(final Map<String, Object> compound, final String key)
+	{
+		final Object value = compound.get(key);
+		return value instanceof ListTag ? (ListTag) value : null;
+	}
+	
+	private OfflineNbt()
+	{
+	
+	}
+}
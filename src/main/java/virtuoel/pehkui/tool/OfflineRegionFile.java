@@ -0,0 +1,354 @@
+package virtuoel.pehkui.tool;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads and rewrites Anvil region files (<code>r.x.z.mca</code>) without going through Minecraft's region storage.
+ */
+public final class OfflineRegionFile
+{
+	public static final int SECTOR_SIZE = 4096;
+	public static final int CHUNK_COUNT = 1024;
+	
+	private static final int GZIP = 1;
+	private static final int ZLIB = 2;
+	private static final int UNCOMPRESSED = 3;
+	private static final int EXTERNAL_FLAG = 0x80;
+	private static final int MAX_INLINE_SECTORS = 255;
+	
+	private static final Pattern NAME_PATTERN = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+	
+	private final Path path;
+	private final int regionX, regionZ;
+	private final int[] timestamps = new int[CHUNK_COUNT];
+	private final byte[][] rawChunks = new byte[CHUNK_COUNT][];
+	private final int[] compression = new int[CHUNK_COUNT];
+	private final boolean[] modified = new boolean[CHUNK_COUNT];
+	private final boolean[] storedExternally = new boolean[CHUNK_COUNT];
+	private final byte[][] unreadableSectors = new byte[CHUNK_COUNT][];
+	private boolean truncated = false;
+	
+	private OfflineRegionFile(final Path path, final int regionX, final int regionZ)
+	{
+		this.path = path;
+		this.regionX = regionX;
+		this.regionZ = regionZ;
+	}
+	
+	public static boolean isRegionFile(final Path path)
+	{
+		return NAME_PATTERN.matcher(path.getFileName().toString()).matches();
+	}
+	
+	public static OfflineRegionFile read(final Path path) throws IOException
+	{
+		final Matcher matcher = NAME_PATTERN.matcher(path.getFileName().toString());
+		
+		if (!matcher.matches())
+		{
+			throw new IOException("Not a region file: " + path);
+		}
+		
+		final OfflineRegionFile region = new OfflineRegionFile(path, Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+		
+		final byte[] bytes = Files.readAllBytes(path);
+		
+		if (bytes.length < SECTOR_SIZE * 2)
+		{
+			return region;
+		}
+		
+		final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		
+		for (int i = 0; i < CHUNK_COUNT; i++)
+		{
+			final int location = buffer.getInt(i * 4);
+			region.timestamps[i] = buffer.getInt(SECTOR_SIZE + i * 4);
+			
+			if (location == 0)
+			{
+				continue;
+			}
+			
+			final int offset = (location >>> 8) * SECTOR_SIZE;
+			final int sectors = location & 0xFF;
+			
+			if (offset < SECTOR_SIZE * 2 || sectors == 0 || offset + 5 > bytes.length)
+			{
+				region.truncated = true;
+				continue;
+			}
+			
+			final int length = buffer.getInt(offset);
+			final int type = bytes[offset + 4] & 0xFF;
+			
+			if ((type & EXTERNAL_FLAG) != 0)
+			{
+				final Path external = region.getExternalPath(i);
+				
+				if (Files.exists(external))
+				{
+					region.rawChunks[i] = Files.readAllBytes(external);
+					region.storedExternally[i] = true;
+				}
+			}
+			else if (length > 1 && (long) offset + 4 + length <= bytes.length)
+			{
+				final byte[] data = new byte[length - 1];
+				System.arraycopy(bytes, offset + 5, data, 0, data.length);
+				region.rawChunks[i] = data;
+			}
+			
+			if (region.rawChunks[i] == null)
+			{
+				final byte[] original = new byte[sectors * SECTOR_SIZE];
+				System.arraycopy(bytes, offset, original, 0, Math.min(original.length, bytes.length - offset));
+				region.unreadableSectors[i] = original;
+			}
+			
+			region.compression[i] = type & ~EXTERNAL_FLAG;
+		}
+		
+		return region;
+	}
+	
+	public Path getPath()
+	{
+		return path;
+	}
+	
+	public boolean hasChunk(final int index)
+	{
+		return rawChunks[index] != null;
+	}
+	
+	/**
+	 * @return Whether the region's header lists a chunk whose length is invalid or whose external chunk file is missing.
+	 * Such chunks are written back with their original sectors unchanged when the region is saved.
+	 */
+	public boolean isUnreadable(final int index)
+	{
+		return unreadableSectors[index] != null;
+	}
+	
+	/**
+	 * @return Whether the region's header lists a chunk outside of the file, which cannot be kept if the region is rewritten
+	 */
+	public boolean isTruncated()
+	{
+		return truncated;
+	}
+	
+	/**
+	 * @return The decompressed chunk NBT, or <code>null</code> if the chunk is absent or uses an unsupported compression type
+	 */
+	public Map<String, Object> readChunk(final int index) throws IOException
+	{
+		final byte[] data = rawChunks[index];
+		
+		if (data == null)
+		{
+			return null;
+		}
+		
+		final InputStream stream;
+		switch (compression[index])
+		{
+			case GZIP:
+				stream = new GZIPInputStream(new ByteArrayInputStream(data));
+				break;
+			case ZLIB:
+				stream = new InflaterInputStream(new ByteArrayInputStream(data));
+				break;
+			case UNCOMPRESSED:
+				stream = new ByteArrayInputStream(data);
+				break;
+			default:
+				return null;
+		}
+		
+		try (final DataInputStream input = new DataInputStream(stream))
+		{
+			return OfflineNbt.readRoot(input);
+		}
+	}
+	
+	public void writeChunk(final int index, final Map<String, Object> nbt, final int compressionLevel) throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final Deflater deflater = new Deflater(compressionLevel);
+		
+		try (final DataOutputStream output = new DataOutputStream(new DeflaterOutputStream(bytes, deflater)))
+		{
+			OfflineNbt.writeRoot(nbt, output);
+		}
+		finally
+		{
+			deflater.end();
+		}
+		
+		rawChunks[index] = bytes.toByteArray();
+		compression[index] = ZLIB;
+		modified[index] = true;
+	}
+	
+	public boolean isModified()
+	{
+		for (final boolean m : modified)
+		{
+			if (m)
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Writes every chunk back contiguously into a temporary file next to the region, then atomically replaces the original.
+	 * <p>External chunk files of chunks that now fit inline are deleted once the region has been written.
+	 * Unreadable chunks keep their original sectors, and truncated regions are never rewritten.
+	 */
+	public void save() throws IOException
+	{
+		if (truncated)
+		{
+			throw new IOException("Refusing to rewrite truncated region file: " + path);
+		}
+		
+		final ByteArrayOutputStream body = new ByteArrayOutputStream();
+		final ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE * 2);
+		final boolean[] inlined = new boolean[CHUNK_COUNT];
+		
+		int sector = 2;
+		for (int i = 0; i < CHUNK_COUNT; i++)
+		{
+			final byte[] data = rawChunks[i];
+			
+			if (data == null)
+			{
+				final byte[] original = unreadableSectors[i];
+				
+				if (original != null)
+				{
+					header.putInt(i * 4, (sector << 8) | (original.length / SECTOR_SIZE));
+					header.putInt(SECTOR_SIZE + i * 4, timestamps[i]);
+					body.write(original);
+					sector += original.length / SECTOR_SIZE;
+				}
+				
+				continue;
+			}
+			
+			final boolean external = data.length + 5 > MAX_INLINE_SECTORS * SECTOR_SIZE;
+			inlined[i] = storedExternally[i] && !external;
+			final int length = external ? 1 : data.length + 1;
+			final int sectors = (length + 4 + SECTOR_SIZE - 1) / SECTOR_SIZE;
+			
+			header.putInt(i * 4, (sector << 8) | sectors);
+			header.putInt(SECTOR_SIZE + i * 4, timestamps[i]);
+			
+			final DataOutputStream output = new DataOutputStream(body);
+			output.writeInt(length);
+			output.writeByte(external ? compression[i] | EXTERNAL_FLAG : compression[i]);
+			
+			if (external)
+			{
+				if (modified[i])
+				{
+					writeAtomically(getExternalPath(i), data);
+				}
+			}
+			else
+			{
+				output.write(data);
+				
+				final int padding = sectors * SECTOR_SIZE - (length + 4);
+				output.write(new byte[padding]);
+			}
+			
+			if (external)
+			{
+				output.write(new byte[SECTOR_SIZE - 5]);
+			}
+			
+			sector += sectors;
+		}
+		
+		final byte[] headerBytes = header.array();
+		final byte[] bodyBytes = body.toByteArray();
+		final byte[] file = new byte[headerBytes.length + bodyBytes.length];
+		System.arraycopy(headerBytes, 0, file, 0, headerBytes.length);
+		System.arraycopy(bodyBytes, 0, file, headerBytes.length, bodyBytes.length);
+		
+		writeAtomically(path, file);
+		
+		for (int i = 0; i < CHUNK_COUNT; i++)
+		{
+			modified[i] = false;
+			
+			if (inlined[i])
+			{
+				Files.deleteIfExists(getExternalPath(i));
+				storedExternally[i] = false;
+			}
+			else if (rawChunks[i] != null && !storedExternally[i])
+			{
+				storedExternally[i] = rawChunks[i].length + 5 > MAX_INLINE_SECTORS * SECTOR_SIZE;
+			}
+		}
+	}
+	
+	private Path getExternalPath(final int index)
+	{
+		final int x = regionX * 32 + (index & 31);
+		final int z = regionZ * 32 + (index >> 5);
+		
+		return path.resolveSibling("c." + x + "." + z + ".mcc");
+	}
+	
+	public static void writeAtomically(final Path target, final byte[] data) throws IOException
+	{
+		final Path temp = Files.createTempFile(target.toAbsolutePath().getParent(), target.getFileName().toString(), ".tmp");
+		
+		try
+		{
+			try (final OutputStream output = Files.newOutputStream(temp))
+			{
+				output.write(data);
+			}
+			
+			try
+			{
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (AtomicMoveNotSupportedException e)
+			{
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		finally
+		{
+			Files.deleteIfExists(temp);
+		}
+	}
+}
@@ -0,0 +1,811 @@
+package virtuoel.pehkui.tool;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Offline maintenance tool for Pehkui scale data stored in a world save.
+ * <p>Walks every <code>region</code>, <code>entities</code> and <code>playerdata</code> directory below the given world
+ * and processes each file on a worker pool sized to the available cores. Modified files are written back atomically.
+ * <p>Usage: <code>&lt;stats|reset|compact&gt; &lt;world directory&gt; [--uuid &lt;uuid&gt;]... [--type &lt;scale type id&gt;]... [--all] [--config &lt;config file&gt;] [--threads &lt;count&gt;] [--dry-run]</code>
+ * <ul>
+ * <li><code>stats</code> reports how many entities carry scale data and the range of base and target scales per scale type.</li>
+ * <li><code>reset</code> removes scale data from entities matching the given UUIDs, limited to the given scale types if any.
+ * Resetting every entity's scale data requires <code>--all</code>.
+ * Missing scale data is read back as the entity's defaults, so this is equivalent to resetting the scales.</li>
+ * <li><code>compact</code> drops redundant scale data entries and rewrites affected region files contiguously.
+ * Explicit base scales are only dropped if they match the <code>entityTypeDefaultScales</code> table of the given config file,
+ * which defaults to <code>config/pehkui/config.json</code> next to the world directory.</li>
+ * </ul>
+ * The server must not be running while this tool modifies a world. Modifying runs hold the world's <code>session.lock</code> and abort if it is taken.
+ */
+public class ScaleDataTool
+{
+	public static final String SCALE_DATA_KEY = "pehkui:scale_data_types";
+	
+	private static final float DEFAULT_BASE_SCALE = 1.0F;
+	private static final int DEFAULT_TICK_DELAY = 20;
+	
+	private static final Pattern ENTITY_TYPE_DEFAULTS_PATTERN = Pattern.compile("\"entityTypeDefaultScales\"\\s*:\\s*\\[([^\\]]*)\\]");
+	private static final Pattern STRING_PATTERN = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+	
+	public static enum Mode
+	{
+		STATS,
+		RESET,
+		COMPACT;
+	}
+	
+	private final Mode mode;
+	private final Collection<UUID> uuids;
+	private final Collection<String> types;
+	private final boolean dryRun;
+	private final Map<String, Map<String, Float>> entityTypeDefaults;
+	
+	/**
+	 * @param entityTypeDefaults Default base scales by entity type ID and scale type ID, or null if unknown, in which case explicit base scales are never compacted
+	 */
+	public ScaleDataTool(final Mode mode, final Collection<UUID> uuids, final Collection<String> types, final boolean dryRun, final Map<String, Map<String, Float>> entityTypeDefaults)
+	{
+		this.mode = mode;
+		this.uuids = uuids;
+		this.types = types;
+		this.dryRun = dryRun;
+		this.entityTypeDefaults = entityTypeDefaults;
+	}
+	
+	public static void main(final String[] args) throws Exception
+	{
+		if (args.length < 2)
+		{
+			printUsage();
+			System.exit(1);
+			return;
+		}
+		
+		final Mode mode;
+		try
+		{
+			mode = Mode.valueOf(args[0].toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException e)
+		{
+			printUsage();
+			System.exit(1);
+			return;
+		}
+		
+		final Path world = Paths.get(args[1]);
+		final Collection<UUID> uuids = new HashSet<>();
+		final Collection<String> types = new HashSet<>();
+		Path config = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		boolean dryRun = false;
+		boolean all = false;
+		
+		for (int i = 2; i < args.length; i++)
+		{
+			final String arg = args[i];
+			
+			if (arg.equals("--dry-run"))
+			{
+				dryRun = true;
+				continue;
+			}
+			
+			if (arg.equals("--all"))
+			{
+				all = true;
+				continue;
+			}
+			
+			if (!arg.equals("--uuid") && !arg.equals("--type") && !arg.equals("--config") && !arg.equals("--threads"))
+			{
+				System.err.println("Unknown argument \"" + arg + "\"");
+				printUsage();
+				System.exit(1);
+				return;
+			}
+			
+			if (++i >= args.length)
+			{
+				System.err.println("Missing value for \"" + arg + "\"");
+				printUsage();
+				System.exit(1);
+				return;
+			}
+			
+			final String value = args[i];
+			
+			switch (arg)
+			{
+				case "--uuid":
+					final UUID uuid = parseUuid(value);
+					
+					if (uuid == null)
+					{
+						System.err.println("Invalid UUID \"" + value + "\"");
+						printUsage();
+						System.exit(1);
+						return;
+					}
+					
+					uuids.add(uuid);
+					break;
+				case "--type":
+					types.add(value.indexOf(':') < 0 ? "pehkui:" + value : value);
+					break;
+				case "--config":
+					config = Paths.get(value);
+					break;
+				case "--threads":
+					try
+					{
+						threads = Math.max(1, Integer.parseInt(value));
+					}
+					catch (NumberFormatException e)
+					{
+						System.err.println("Invalid thread count \"" + value + "\"");
+						printUsage();
+						System.exit(1);
+						return;
+					}
+					break;
+			}
+		}
+		
+		if (mode == Mode.RESET && uuids.isEmpty() && types.isEmpty() && !all)
+		{
+			System.err.println("Resetting without --uuid or --type would reset every entity. Pass --all to confirm.");
+			printUsage();
+			System.exit(1);
+			return;
+		}
+		
+		if (!Files.isDirectory(world))
+		{
+			System.err.println("World directory \"" + world + "\" does not exist");
+			System.exit(1);
+			return;
+		}
+		
+		if (config == null)
+		{
+			final Path parent = world.toAbsolutePath().normalize().getParent();
+			config = parent == null ? null : parent.resolve("config").resolve("pehkui").resolve("config.json");
+		}
+		
+		Map<String, Map<String, Float>> entityTypeDefaults = null;
+		
+		if (config != null && Files.isRegularFile(config))
+		{
+			entityTypeDefaults = readEntityTypeDefaults(config);
+		}
+		else if (mode == Mode.COMPACT)
+		{
+			System.err.println("No Pehkui config found, so explicit base scales are kept since entity type defaults are unknown. Pass --config to compact them.");
+		}
+		
+		final Stats stats;
+		
+		if (mode == Mode.STATS || dryRun)
+		{
+			stats = new ScaleDataTool(mode, uuids, types, dryRun, entityTypeDefaults).run(world, threads);
+		}
+		else
+		{
+			try (final FileChannel channel = FileChannel.open(world.resolve("session.lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE))
+			{
+				FileLock lock;
+				try
+				{
+					lock = channel.tryLock();
+				}
+				catch (OverlappingFileLockException e)
+				{
+					lock = null;
+				}
+				
+				if (lock == null)
+				{
+					System.err.println("World \"" + world + "\" is in use. Stop the server before modifying it.");
+					System.exit(1);
+					return;
+				}
+				
+				try
+				{
+					stats = new ScaleDataTool(mode, uuids, types, dryRun, entityTypeDefaults).run(world, threads);
+				}
+				finally
+				{
+					lock.release();
+				}
+			}
+		}
+		
+		stats.print(mode, dryRun);
+	}
+	
+	private static void printUsage()
+	{
+		System.err.println("Usage: <stats|reset|compact> <world directory> [--uuid <uuid>]... [--type <scale type id>]... [--all] [--config <config file>] [--threads <count>] [--dry-run]");
+	}
+	
+	/**
+	 * Reads the <code>entityTypeDefaultScales</code> table from a Pehkui config file, mirroring how {@code EntityTypeScaleDefaults} parses its entries.
+	 */
+	private static Map<String, Map<String, Float>> readEntityTypeDefaults(final Path config) throws IOException
+	{
+		final Map<String, Map<String, Float>> table = new HashMap<>();
+		final Matcher list = ENTITY_TYPE_DEFAULTS_PATTERN.matcher(new String(Files.readAllBytes(config), StandardCharsets.UTF_8));
+		
+		if (!list.find())
+		{
+			return table;
+		}
+		
+		final Matcher entries = STRING_PATTERN.matcher(list.group(1));
+		
+		String[] parts;
+		while (entries.find())
+		{
+			parts = entries.group(1).trim().split("\\s+");
+			
+			if (parts.length < 3)
+			{
+				continue;
+			}
+			
+			final float baseScale;
+			try
+			{
+				baseScale = Float.parseFloat(parts[2]);
+			}
+			catch (NumberFormatException e)
+			{
+				System.err.println("Skipping entity type default scale with invalid value \"" + parts[2] + "\"");
+				continue;
+			}
+			
+			table.computeIfAbsent(normalizeId(parts[0]), k -> new HashMap<>()).put(normalizeId(parts[1]), baseScale);
+		}
+		
+		return table;
+	}
+	
+	private static String normalizeId(final String id)
+	{
+		final String lowercase = id.toLowerCase(Locale.ROOT);
+		return lowercase.indexOf(':') < 0 ? "minecraft:" + lowercase : lowercase;
+	}
+	
+	public Stats run(final Path world, final int threads) throws IOException, InterruptedException
+	{
+		final List<Path> files = findFiles(world);
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		final Stats total = new Stats();
+		
+		try
+		{
+			final List<Future<Stats>> futures = new ArrayList<>(files.size());
+			
+			for (final Path file : files)
+			{
+				futures.add(executor.submit(() -> processFile(file)));
+			}
+			
+			for (int i = 0; i < futures.size(); i++)
+			{
+				try
+				{
+					total.merge(futures.get(i).get());
+				}
+				catch (ExecutionException e)
+				{
+					total.failedFiles++;
+					System.err.println("Failed to process \"" + files.get(i) + "\": " + e.getCause());
+				}
+			}
+		}
+		finally
+		{
+			executor.shutdown();
+		}
+		
+		return total;
+	}
+	
+	private static List<Path> findFiles(final Path world) throws IOException
+	{
+		try (final Stream<Path> paths = Files.walk(world))
+		{
+			return paths
+				.filter(Files::isRegularFile)
+				.filter(p ->
+				{
+					final Path parent = p.getParent();
+					final String dir = parent == null ? "" : parent.getFileName().toString();
+					final String name = p.getFileName().toString();
+					
+					if (dir.equals("region") || dir.equals("entities"))
+					{
+						return OfflineRegionFile.isRegionFile(p);
+					}
+					
+					return dir.equals("playerdata") && name.endsWith(".dat");
+				})
+				.collect(Collectors.toList());
+		}
+	}
+	
+	private Stats processFile(final Path file) throws IOException
+	{
+		final Stats stats = new Stats();
+		
+		if (OfflineRegionFile.isRegionFile(file))
+		{
+			final OfflineRegionFile region = OfflineRegionFile.read(file);
+			
+			for (int i = 0; i < OfflineRegionFile.CHUNK_COUNT; i++)
+			{
+				if (region.isUnreadable(i))
+				{
+					stats.skippedChunks++;
+					continue;
+				}
+				
+				if (!region.hasChunk(i))
+				{
+					continue;
+				}
+				
+				final Map<String, Object> chunk = region.readChunk(i);
+				
+				if (chunk == null)
+				{
+					stats.skippedChunks++;
+					continue;
+				}
+				
+				stats.chunks++;
+				
+				final Map<String, Object> level = OfflineNbt.getCompound(chunk, "Level");
+				final OfflineNbt.ListTag entities = OfflineNbt.getList(level != null ? level : chunk, "Entities");
+				
+				if (entities != null && processEntities(entities, stats))
+				{
+					region.writeChunk(i, chunk, mode == Mode.COMPACT ? Deflater.BEST_COMPRESSION : Deflater.DEFAULT_COMPRESSION);
+				}
+			}
+			
+			if (region.isModified() && region.isTruncated())
+			{
+				stats.truncatedFiles++;
+				System.err.println("Not rewriting \"" + file + "\", since its header lists chunks past the end of the file");
+			}
+			else if (region.isModified())
+			{
+				stats.modifiedFiles++;
+				
+				if (!dryRun)
+				{
+					region.save();
+				}
+			}
+		}
+		else
+		{
+			final Map<String, Object> player;
+			try (final InputStream input = new GZIPInputStream(Files.newInputStream(file)))
+			{
+				player = OfflineNbt.readRoot(new DataInputStream(input));
+			}
+			
+			final UUID fileUuid = parseUuid(file.getFileName().toString().replace(".dat", ""));
+			
+			if (processEntity(player, fileUuid, "minecraft:player", stats))
+			{
+				stats.modifiedFiles++;
+				
+				if (!dryRun)
+				{
+					final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+					
+					try (final DataOutputStream output = new DataOutputStream(new GZIPOutputStream(bytes)))
+					{
+						OfflineNbt.writeRoot(player, output);
+					}
+					
+					OfflineRegionFile.writeAtomically(file, bytes.toByteArray());
+				}
+			}
+		}
+		
+		stats.files++;
+		
+		return stats;
+	}
+	
+	private boolean processEntities(final OfflineNbt.ListTag entities, final Stats stats)
+	{
+		boolean changed = false;
+		
+		for (final Object element : entities.elements)
+		{
+			if (element instanceof Map)
+			{
+				@SuppressWarnings("unchecked")
+				final Map<String, Object> entity = (Map<String, Object>) element;
+				changed |= processEntity(entity, null, null, stats);
+			}
+		}
+		
+		return changed;
+	}
+	
+	private boolean processEntity(final Map<String, Object> entity, final UUID fallbackUuid, final String fallbackType, final Stats stats)
+	{
+		boolean changed = false;
+		
+		stats.entities++;
+		
+		final Map<String, Object> scaleData = OfflineNbt.getCompound(entity, SCALE_DATA_KEY);
+		
+		if (scaleData != null)
+		{
+			stats.scaledEntities++;
+			
+			final UUID uuid = getUuid(entity, fallbackUuid);
+			
+			switch (mode)
+			{
+				case STATS:
+					collectStats(scaleData, stats);
+					break;
+				case RESET:
+					if (uuids.isEmpty() || (uuid != null && uuids.contains(uuid)))
+					{
+						changed = resetScaleData(entity, scaleData, stats);
+					}
+					break;
+				case COMPACT:
+					changed = compactScaleData(entity, getEntityType(entity, fallbackType), scaleData, stats);
+					break;
+			}
+		}
+		
+		final OfflineNbt.ListTag passengers = OfflineNbt.getList(entity, "Passengers");
+		
+		if (passengers != null)
+		{
+			changed |= processEntities(passengers, stats);
+		}
+		
+		final Map<String, Object> rootVehicle = OfflineNbt.getCompound(entity, "RootVehicle");
+		final Map<String, Object> vehicle = rootVehicle == null ? null : OfflineNbt.getCompound(rootVehicle, "Entity");
+		
+		if (vehicle != null)
+		{
+			changed |= processEntity(vehicle, null, null, stats);
+		}
+		
+		return changed;
+	}
+	
+	private void collectStats(final Map<String, Object> scaleData, final Stats stats)
+	{
+		for (final Entry<String, Object> entry : scaleData.entrySet())
+		{
+			if (entry.getValue() instanceof Map)
+			{
+				@SuppressWarnings("unchecked")
+				final Map<String, Object> data = (Map<String, Object>) entry.getValue();
+				
+				final TypeStats typeStats = stats.types.computeIfAbsent(entry.getKey(), k -> new TypeStats());
+				typeStats.add(getFloat(data, "scale", DEFAULT_BASE_SCALE), getFloat(data, "target", getFloat(data, "scale", DEFAULT_BASE_SCALE)));
+			}
+		}
+	}
+	
+	private boolean resetScaleData(final Map<String, Object> entity, final Map<String, Object> scaleData, final Stats stats)
+	{
+		if (types.isEmpty())
+		{
+			entity.remove(SCALE_DATA_KEY);
+			stats.resetEntries += scaleData.size();
+			return true;
+		}
+		
+		boolean changed = false;
+		
+		for (final String type : types)
+		{
+			if (scaleData.remove(type) != null)
+			{
+				stats.resetEntries++;
+				changed = true;
+			}
+		}
+		
+		if (scaleData.isEmpty())
+		{
+			entity.remove(SCALE_DATA_KEY);
+		}
+		
+		return changed;
+	}
+	
+	/**
+	 * Removes entries that read back to the same values as when they are absent, mirroring the fallbacks in {@code ScaleData.readNbt}.
+	 * Defaults are only assumed for Pehkui's own scale types, since other mods' types may use different defaults.
+	 */
+	private boolean compactScaleData(final Map<String, Object> entity, final String entityType, final Map<String, Object> scaleData, final Stats stats)
+	{
+		boolean changed = false;
+		
+		final Iterator<Entry<String, Object>> iterator = scaleData.entrySet().iterator();
+		while (iterator.hasNext())
+		{
+			final Entry<String, Object> entry = iterator.next();
+			
+			if (!(entry.getValue() instanceof Map))
+			{
+				continue;
+			}
+			
+			@SuppressWarnings("unchecked")
+			final Map<String, Object> data = (Map<String, Object>) entry.getValue();
+			final int size = data.size();
+			
+			final Object scale = data.get("scale");
+			
+			if (scale instanceof Float)
+			{
+				removeIfEqual(data, "previous", scale);
+				removeIfEqual(data, "initial", scale);
+				removeIfEqual(data, "target", scale);
+			}
+			
+			removeIfEqual(data, "ticks", 0);
+			
+			if (entry.getKey().startsWith("pehkui:"))
+			{
+				removeIfEqual(data, "total_ticks", DEFAULT_TICK_DELAY);
+				
+				final Float defaultBaseScale = getDefaultBaseScale(entityType, entry.getKey());
+				
+				if (defaultBaseScale != null && !data.containsKey("previous") && !data.containsKey("initial") && !data.containsKey("target"))
+				{
+					removeIfEqual(data, "scale", defaultBaseScale);
+				}
+			}
+			
+			if (data.isEmpty())
+			{
+				iterator.remove();
+			}
+			
+			if (data.size() != size || data.isEmpty())
+			{
+				stats.compactedEntries++;
+				changed = true;
+			}
+		}
+		
+		if (scaleData.isEmpty())
+		{
+			entity.remove(SCALE_DATA_KEY);
+			changed = true;
+		}
+		
+		return changed;
+	}
+	
+	/**
+	 * @return The base scale the given entity type's scale data falls back to, or null if it is unknown
+	 */
+	private Float getDefaultBaseScale(final String entityType, final String scaleType)
+	{
+		if (entityTypeDefaults == null)
+		{
+			return null;
+		}
+		
+		if (entityType == null)
+		{
+			for (final Map<String, Float> defaults : entityTypeDefaults.values())
+			{
+				if (defaults.containsKey(scaleType))
+				{
+					return null;
+				}
+			}
+			
+			return DEFAULT_BASE_SCALE;
+		}
+		
+		final Map<String, Float> defaults = entityTypeDefaults.get(entityType);
+		final Float defaultBaseScale = defaults == null ? null : defaults.get(scaleType);
+		
+		return defaultBaseScale == null ? DEFAULT_BASE_SCALE : defaultBaseScale;
+	}
+	
+	private static String getEntityType(final Map<String, Object> entity, final String fallback)
+	{
+		final Object id = entity.get("id");
+		return id instanceof String ? normalizeId((String) id) : fallback;
+	}
+	
+	private static void removeIfEqual(final Map<String, Object> data, final String key, final Object value)
+	{
+		if (value.equals(data.get(key)))
+		{
+			data.remove(key);
+		}
+	}
+	
+	private static float getFloat(final Map<String, Object> data, final String key, final float defaultValue)
+	{
+		final Object value = data.get(key);
+		return value instanceof Number ? ((Number) value).floatValue() : defaultValue;
+	}
+	
+	private static UUID getUuid(final Map<String, Object> entity, final UUID fallback)
+	{
+		final Object uuid = entity.get("UUID");
+		
+		if (uuid instanceof int[] && ((int[]) uuid).length == 4)
+		{
+			final int[] ints = (int[]) uuid;
+			return new UUID((long) ints[0] << 32 | ints[1] & 0xFFFFFFFFL, (long) ints[2] << 32 | ints[3] & 0xFFFFFFFFL);
+		}
+		
+		final Object most = entity.get("UUIDMost");
+		final Object least = entity.get("UUIDLeast");
+		
+		if (most instanceof Long && least instanceof Long)
+		{
+			return new UUID((Long) most, (Long) least);
+		}
+		
+		return fallback;
+	}
+	
+	private static UUID parseUuid(final String string)
+	{
+		try
+		{
+			return UUID.fromString(string);
+		}
+		catch (IllegalArgumentException e)
+		{
+			return null;
+		}
+	}
+	
+	public static class TypeStats
+	{
+		public long count = 0;
+		public float minScale = Float.POSITIVE_INFINITY;
+		public float maxScale = Float.NEGATIVE_INFINITY;
+		public double scaleSum = 0.0D;
+		public long transitioning = 0;
+		
+		public void add(final float scale, final float target)
+		{
+			count++;
+			minScale = Math.min(minScale, scale);
+			maxScale = Math.max(maxScale, scale);
+			scaleSum += scale;
+			
+			if (scale != target)
+			{
+				transitioning++;
+			}
+		}
+		
+		public void merge(final TypeStats other)
+		{
+			count += other.count;
+			minScale = Math.min(minScale, other.minScale);
+			maxScale = Math.max(maxScale, other.maxScale);
+			scaleSum += other.scaleSum;
+			transitioning += other.transitioning;
+		}
+	}
+	
+	public static class Stats
+	{
+		public long files = 0;
+		public long modifiedFiles = 0;
+		public long failedFiles = 0;
+		public long truncatedFiles = 0;
+		public long chunks = 0;
+		public long skippedChunks = 0;
+		public long entities = 0;
+		public long scaledEntities = 0;
+		public long resetEntries = 0;
+		public long compactedEntries = 0;
+		public final Map<String, TypeStats> types = new TreeMap<>();
+		
+		public void merge(final Stats other)
+		{
+			files += other.files;
+			modifiedFiles += other.modifiedFiles;
+			failedFiles += other.failedFiles;
+			truncatedFiles += other.truncatedFiles;
+			chunks += other.chunks;
+			skippedChunks += other.skippedChunks;
+			entities += other.entities;
+			scaledEntities += other.scaledEntities;
+			resetEntries += other.resetEntries;
+			compactedEntries += other.compactedEntries;
+			
+			for (final Entry<String, TypeStats> entry : other.types.entrySet())
+			{
+				types.computeIfAbsent(entry.getKey(), k -> new TypeStats()).merge(entry.getValue());
+			}
+		}
+		
+		public void print(final Mode mode, final boolean dryRun)
+		{
+			System.out.printf(Locale.ROOT, "Scanned %d files (%d failed), %d chunks (%d unreadable), %d entities, %d with scale data%n", files, failedFiles, chunks, skippedChunks, entities, scaledEntities);
+			
+			if (truncatedFiles > 0)
+			{
+				System.out.printf(Locale.ROOT, "Left %d truncated region files unchanged%n", truncatedFiles);
+			}
+			
+			switch (mode)
+			{
+				case STATS:
+					for (final Entry<String, TypeStats> entry : types.entrySet())
+					{
+						final TypeStats t = entry.getValue();
+						System.out.printf(Locale.ROOT, "%s: %d entries, scale min %s max %s mean %s, %d transitioning%n", entry.getKey(), t.count, t.minScale, t.maxScale, (float) (t.scaleSum / t.count), t.transitioning);
+					}
+					break;
+				case RESET:
+					System.out.printf(Locale.ROOT, "%s %d scale data entries in %d files%n", dryRun ? "Would reset" : "Reset", resetEntries, modifiedFiles);
+					break;
+				case COMPACT:
+					System.out.printf(Locale.ROOT, "%s %d scale data entries in %d files%n", dryRun ? "Would compact" : "Compacted", compactedEntries, modifiedFiles);
+					break;
+			}
+		}
+	}
+}
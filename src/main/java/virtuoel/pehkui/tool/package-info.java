@@ -0,0 +1,4 @@
+@ApiStatus.Internal
+package virtuoel.pehkui.tool;
+
+import org.jetbrains.annotations.ApiStatus;
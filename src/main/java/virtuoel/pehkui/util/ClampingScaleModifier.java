@@ -7,7 +7,7 @@ import virtuoel.pehkui.api.ScaleModifier;
 
 public class ClampingScaleModifier extends ScaleModifier
 {
-	private final Supplier<Double> min, max;
+	protected final Supplier<Double> min, max;
 	
 	public ClampingScaleModifier(final Supplier<Double> min, final Supplier<Double> max, final float priority)
 	{
@@ -27,4 +27,10 @@ public class ClampingScaleModifier extends ScaleModifier
 	{
 		return Math.max(Math.min(modifiedScale, max.get().floatValue()), min.get().floatValue());
 	}
+	
+	@Override
+	public boolean preservesIdentity()
+	{
+		return min.get().floatValue() <= 1.0F && 1.0F <= max.get().floatValue();
+	}
 }
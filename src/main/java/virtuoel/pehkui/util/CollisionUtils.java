@@ -0,0 +1,271 @@
+package virtuoel.pehkui.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.collect.Iterables;
+
+import it.unimi.dsi.fastutil.longs.Long2BooleanMap;
+import it.unimi.dsi.fastutil.longs.Long2BooleanOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.shape.VoxelShape;
+import net.minecraft.util.shape.VoxelShapes;
+import net.minecraft.world.BlockView;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkSection;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+
+/**
+ * Block collision gathering for very large entities.
+ * <p>Movement is only ever stopped by shapes past the leading faces of the entity's bounding box, so instead of the whole swept box,
+ * only the slab swept by each moving face is checked. Slabs are split along chunk sections, and sections with no blocks near them are skipped.
+ * <p>The non-empty parts of each slab are checked nearest-first: by how far past the moving face they start, then by how far they are from the entity's center across the face.
+ * Once a move has checked more blocks than {@code boundedCollisionBlockBudget}, the entity stops where the nearest unchecked part of a horizontal slab begins.
+ * That part then touches the moving face, and parts touching the face are always checked exactly, so it is checked on the next move instead of stopping the entity again.
+ * Vertical slabs are always checked exactly, since stopping short of one would count as landing.
+ */
+public class CollisionUtils
+{
+	private static final double EPSILON = 1.0E-7D;
+	
+	public static boolean shouldBoundCollisions(@Nullable Entity entity, Box entityBoundingBox)
+	{
+		if (entity == null)
+		{
+			return false;
+		}
+		
+		final double minimumSize = PehkuiConfigSnapshot.get().getBoundedCollisionMinimumSize();
+		
+		if (minimumSize <= 0.0D)
+		{
+			return false;
+		}
+		
+		return Math.max(entityBoundingBox.getXLength(), Math.max(entityBoundingBox.getYLength(), entityBoundingBox.getZLength())) >= minimumSize;
+	}
+	
+	public static Iterable<VoxelShape> getBlockCollisions(World world, Entity entity, Box entityBoundingBox, Vec3d movement)
+	{
+		final Sweep sweep = new Sweep(world, entity, entityBoundingBox, entityBoundingBox.stretch(movement));
+		
+		sweep.sweep(Direction.Axis.Y, movement.y);
+		sweep.sweep(Direction.Axis.X, movement.x);
+		sweep.sweep(Direction.Axis.Z, movement.z);
+		
+		return Iterables.concat(sweep.collisions);
+	}
+	
+	private static class Sweep
+	{
+		private final World world;
+		private final Entity entity;
+		private final Box entityBoundingBox;
+		private final Box stretched;
+		private final List<Iterable<VoxelShape>> collisions = new ArrayList<>();
+		private final Long2BooleanMap emptySections = new Long2BooleanOpenHashMap();
+		private double budget;
+		
+		private Sweep(World world, Entity entity, Box entityBoundingBox, Box stretched)
+		{
+			this.world = world;
+			this.entity = entity;
+			this.entityBoundingBox = entityBoundingBox;
+			this.stretched = stretched;
+			this.budget = PehkuiConfigSnapshot.get().getBoundedCollisionBlockBudget();
+		}
+		
+		private void sweep(final Direction.Axis axis, final double distance)
+		{
+			if (distance == 0.0D)
+			{
+				return;
+			}
+			
+			final double face = distance > 0.0D ? entityBoundingBox.getMax(axis) : entityBoundingBox.getMin(axis);
+			final double near = distance > 0.0D ? face - EPSILON : face + EPSILON;
+			final double far = face + distance;
+			final Box slab = withBounds(stretched, axis, Math.min(near, far), Math.max(near, far));
+			
+			final List<Part> parts = new ArrayList<>();
+			
+			for (int x = sectionCoord(slab.minX); x <= sectionCoord(slab.maxX); x++)
+			{
+				for (int y = sectionCoord(slab.minY); y <= sectionCoord(slab.maxY); y++)
+				{
+					for (int z = sectionCoord(slab.minZ); z <= sectionCoord(slab.maxZ); z++)
+					{
+						final Box section = new Box(x << 4, y << 4, z << 4, (x + 1) << 4, (y + 1) << 4, (z + 1) << 4);
+						
+						if (!slab.intersects(section))
+						{
+							continue;
+						}
+						
+						final Box part = slab.intersection(section);
+						
+						if (!isEmptyAround(part))
+						{
+							parts.add(new Part(part, axis, face, distance, entityBoundingBox));
+						}
+					}
+				}
+			}
+			
+			parts.sort(null);
+			
+			for (final Part part : parts)
+			{
+				if (budget <= 0.0D && axis != Direction.Axis.Y && part.distance > 0.0D)
+				{
+					// Stop where the nearest unchecked part begins. It touches the moving face on the next move, so it is checked exactly then.
+					collisions.add(Collections.singletonList(VoxelShapes.cuboid(part.box)));
+					return;
+				}
+				
+				budget -= countBlocks(part.box);
+				collisions.add(world.getBlockCollisions(entity, part.box));
+			}
+		}
+		
+		/**
+		 * Part of a moving face's slab within one chunk section, ordered by how far past the face it starts, then by how far it is from the entity's center across the face.
+		 */
+		private static class Part implements Comparable<Part>
+		{
+			private final Box box;
+			private final double distance;
+			private final double crossDistance;
+			
+			private Part(final Box box, final Direction.Axis axis, final double face, final double movement, final Box entityBoundingBox)
+			{
+				this.box = box;
+				this.distance = Math.max(0.0D, movement > 0.0D ? box.getMin(axis) - face : face - box.getMax(axis));
+				
+				double cross = 0.0D;
+				for (final Direction.Axis other : Direction.Axis.values())
+				{
+					if (other != axis)
+					{
+						final double c = (entityBoundingBox.getMin(other) + entityBoundingBox.getMax(other)) * 0.5D;
+						final double d = Math.max(0.0D, Math.max(box.getMin(other) - c, c - box.getMax(other)));
+						cross += d * d;
+					}
+				}
+				
+				this.crossDistance = cross;
+			}
+			
+			@Override
+			public int compareTo(final Part other)
+			{
+				final int byDistance = Double.compare(distance, other.distance);
+				
+				return byDistance != 0 ? byDistance : Double.compare(crossDistance, other.crossDistance);
+			}
+		}
+		
+		/**
+		 * @return Amount of blocks whose collisions are checked for the given box, including the one block margin around it
+		 */
+		private static double countBlocks(final Box part)
+		{
+			return countBlocks(part.minX, part.maxX) * countBlocks(part.minY, part.maxY) * countBlocks(part.minZ, part.maxZ);
+		}
+		
+		private static double countBlocks(final double min, final double max)
+		{
+			return MathHelper.floor(max + EPSILON) - MathHelper.floor(min - EPSILON) + 3.0D;
+		}
+		
+		/**
+		 * Block collisions also check blocks one block outside of the given box, so sections within that margin count too.
+		 */
+		private boolean isEmptyAround(final Box part)
+		{
+			final int minX = sectionCoord(part.minX - 1.0D);
+			final int minY = sectionCoord(part.minY - 1.0D);
+			final int minZ = sectionCoord(part.minZ - 1.0D);
+			final int maxX = sectionCoord(part.maxX + 1.0D);
+			final int maxY = sectionCoord(part.maxY + 1.0D);
+			final int maxZ = sectionCoord(part.maxZ + 1.0D);
+			
+			for (int x = minX; x <= maxX; x++)
+			{
+				for (int z = minZ; z <= maxZ; z++)
+				{
+					for (int y = minY; y <= maxY; y++)
+					{
+						if (!isSectionEmpty(x, y, z))
+						{
+							return false;
+						}
+					}
+				}
+			}
+			
+			return true;
+		}
+		
+		private boolean isSectionEmpty(final int x, final int y, final int z)
+		{
+			final long key = ChunkSectionPos.asLong(x, y, z);
+			
+			if (emptySections.containsKey(key))
+			{
+				return emptySections.get(key);
+			}
+			
+			boolean empty = true;
+			
+			final BlockView view = world.getChunkAsView(x, z);
+			
+			if (view instanceof Chunk)
+			{
+				final Chunk chunk = (Chunk) view;
+				final ChunkSection[] sections = chunk.getSectionArray();
+				final int index = chunk.sectionCoordToIndex(y);
+				
+				if (index >= 0 && index < sections.length)
+				{
+					empty = sections[index].isEmpty();
+				}
+			}
+			
+			emptySections.put(key, empty);
+			return empty;
+		}
+	}
+	
+	private static int sectionCoord(final double coord)
+	{
+		return MathHelper.floor(coord) >> 4;
+	}
+	
+	private static Box withBounds(final Box box, final Direction.Axis axis, final double min, final double max)
+	{
+		switch (axis)
+		{
+			case X:
+				return new Box(min, box.minY, box.minZ, max, box.maxY, box.maxZ);
+			case Y:
+				return new Box(box.minX, min, box.minZ, box.maxX, max, box.maxZ);
+			default:
+				return new Box(box.minX, box.minY, min, box.maxX, box.maxY, max);
+		}
+	}
+	
+	private CollisionUtils()
+	{
+	
+	}
+}
@@ -0,0 +1,71 @@
+package virtuoel.pehkui.util;
+
+import java.util.function.Supplier;
+
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+import virtuoel.pehkui.api.ScaleData;
+
+/**
+ * {@link ClampingScaleModifier} for bounds backed by Pehkui's own config.
+ * <p>The bounds are read once per {@link PehkuiConfigSnapshot} and reused until a new snapshot is published,
+ * since the snapshot is only replaced after a config value changed. Other suppliers should use {@link ClampingScaleModifier}, which reads them every time.
+ */
+public class ConfigClampingScaleModifier extends ClampingScaleModifier
+{
+	private volatile Bounds bounds = null;
+	
+	public ConfigClampingScaleModifier(final Supplier<Double> min, final Supplier<Double> max, final float priority)
+	{
+		super(min, max, priority);
+	}
+	
+	private Bounds getBounds()
+	{
+		final PehkuiConfigSnapshot snapshot = PehkuiConfigSnapshot.get();
+		Bounds b = bounds;
+		
+		if (b == null || b.snapshot != snapshot)
+		{
+			bounds = b = new Bounds(snapshot, min.get().floatValue(), max.get().floatValue());
+		}
+		
+		return b;
+	}
+	
+	@Override
+	public float modifyScale(final ScaleData scaleData, float modifiedScale, final float delta)
+	{
+		final Bounds b = getBounds();
+		
+		return Math.max(Math.min(modifiedScale, b.max), b.min);
+	}
+	
+	@Override
+	public float modifyPrevScale(final ScaleData scaleData, float modifiedScale)
+	{
+		final Bounds b = getBounds();
+		
+		return Math.max(Math.min(modifiedScale, b.max), b.min);
+	}
+	
+	@Override
+	public boolean preservesIdentity()
+	{
+		final Bounds b = getBounds();
+		
+		return b.min <= 1.0F && 1.0F <= b.max;
+	}
+	
+	private static final class Bounds
+	{
+		private final PehkuiConfigSnapshot snapshot;
+		private final float min, max;
+		
+		private Bounds(final PehkuiConfigSnapshot snapshot, final float min, final float max)
+		{
+			this.snapshot = snapshot;
+			this.min = min;
+			this.max = max;
+		}
+	}
+}
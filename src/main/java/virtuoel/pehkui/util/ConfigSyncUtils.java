@@ -5,11 +5,11 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -37,13 +37,14 @@ import virtuoel.kanos_config.api.JsonConfigHandler;
 import virtuoel.kanos_config.api.MutableConfigEntry;
 import virtuoel.pehkui.Pehkui;
 import virtuoel.pehkui.api.PehkuiConfig;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 
 public class ConfigSyncUtils
 {
-	public static final Map<String, MutableConfigEntry<?>> CONFIGS = new HashMap<>();
-	private static final Map<String, SyncableConfigEntry<?>> SYNCED_CONFIGS = new HashMap<>();
-	private static final Map<String, ConfigEntryCodec<?>> SYNCED_CONFIG_CODECS = new HashMap<>();
-	private static final Map<String, ConfigEntryCodec<?>> CODECS = new HashMap<>();
+	public static final Map<String, MutableConfigEntry<?>> CONFIGS = new ConcurrentHashMap<>();
+	private static final Map<String, SyncableConfigEntry<?>> SYNCED_CONFIGS = new ConcurrentHashMap<>();
+	private static final Map<String, ConfigEntryCodec<?>> SYNCED_CONFIG_CODECS = new ConcurrentHashMap<>();
+	private static final Map<String, ConfigEntryCodec<?>> CODECS = new ConcurrentHashMap<>();
 	
 	static
 	{
@@ -123,7 +124,7 @@ public class ConfigSyncUtils
 		SyncableConfigEntry<?> entry;
 		for (final String key : configEntryKeys)
 		{
-			if (SYNCED_CONFIGS.containsKey(key) && (entry = SYNCED_CONFIGS.get(key)) != null)
+			if ((entry = SYNCED_CONFIGS.get(key)) != null)
 			{
 				entries.add(entry);
 			}
@@ -236,7 +237,7 @@ public class ConfigSyncUtils
 	
 	public static <T> MutableConfigEntry<T> createConfigEntry(final String name, final T defaultValue, final Supplier<T> supplier, final Consumer<T> consumer)
 	{
-		if (SYNCED_CONFIGS.containsKey(name))
+		if (SYNCED_CONFIG_CODECS.containsKey(name))
 		{
 			@SuppressWarnings("unchecked")
 			SyncableConfigEntry<T> entry = (SyncableConfigEntry<T>) SYNCED_CONFIGS.get(name);
@@ -258,7 +259,6 @@ public class ConfigSyncUtils
 	
 	public static void setupSyncableConfig(final String name, final String codecKey)
 	{
-		SYNCED_CONFIGS.put(name, null);
 		SYNCED_CONFIG_CODECS.put(name, Objects.requireNonNull(CODECS.get(codecKey), String.format("Codec \"%s\" not found for config \"%s\"", codecKey, name)));
 	}
 	
@@ -310,6 +310,7 @@ public class ConfigSyncUtils
 					config.onConfigChanged();
 					config.save(disk);
 					config.get();
+					PehkuiConfigSnapshot.invalidate();
 					
 					syncConfigs(context.getSource().getWorld().getServer().getPlayerManager().getPlayerList());
 					
@@ -324,6 +325,7 @@ public class ConfigSyncUtils
 					{
 						Files.deleteIfExists(FabricLoader.getInstance().getConfigDir().resolve(Pehkui.MOD_ID).resolve("config.json").normalize());
 						config.get();
+						PehkuiConfigSnapshot.invalidate();
 						syncConfigs(context.getSource().getWorld().getServer().getPlayerManager().getPlayerList());
 						
 						return 1;
@@ -505,6 +507,7 @@ public class ConfigSyncUtils
 		public void setSyncedValue(final T value)
 		{
 			syncedValue = value;
+			PehkuiConfigSnapshot.invalidate();
 		}
 		
 		public boolean isSynced()
@@ -576,6 +579,7 @@ public class ConfigSyncUtils
 		public void accept(final T t)
 		{
 			consumer.accept(t);
+			PehkuiConfigSnapshot.invalidate();
 		}
 		
 		@Override
@@ -588,6 +592,7 @@ public class ConfigSyncUtils
 		public void setValue(final T t)
 		{
 			consumer.accept(t);
+			PehkuiConfigSnapshot.invalidate();
 		}
 	}
 }
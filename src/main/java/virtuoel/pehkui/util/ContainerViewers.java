@@ -0,0 +1,57 @@
+package virtuoel.pehkui.util;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.world.World;
+
+/**
+ * Players that opened a container, so its viewers can be counted without searching the area around it, regardless of their reach.
+ * <p>Players are registered when their screen handler opens the container and removed when it is closed.
+ * Players that stopped viewing the container without closing it are pruned while counting.
+ */
+public class ContainerViewers
+{
+	private final Set<PlayerEntity> viewers = new ReferenceOpenHashSet<>();
+	
+	public void add(PlayerEntity player)
+	{
+		viewers.add(player);
+	}
+	
+	public void remove(PlayerEntity player)
+	{
+		viewers.remove(player);
+	}
+	
+	public int count(World world, Predicate<PlayerEntity> isViewing)
+	{
+		if (viewers.isEmpty())
+		{
+			return 0;
+		}
+		
+		int count = 0;
+		
+		final Iterator<PlayerEntity> iterator = viewers.iterator();
+		PlayerEntity player;
+		while (iterator.hasNext())
+		{
+			player = iterator.next();
+			
+			if (player.world == world && isViewing.test(player))
+			{
+				count++;
+			}
+			else
+			{
+				iterator.remove();
+			}
+		}
+		
+		return count;
+	}
+}
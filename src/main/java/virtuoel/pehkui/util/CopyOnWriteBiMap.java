@@ -0,0 +1,100 @@
+package virtuoel.pehkui.util;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.ForwardingMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Maps;
+
+/**
+ * {@link BiMap} whose reads go to an unmodifiable snapshot without locking, and whose writes replace that snapshot.
+ * <p>Meant for registries that are filled during initialization and read from many threads afterwards.
+ * Views returned by this map reflect the contents at the time they were obtained.
+ */
+public class CopyOnWriteBiMap<K, V> extends ForwardingMap<K, V> implements BiMap<K, V>
+{
+	private final PublishedReference<BiMap<K, V>> snapshot = PublishedReference.create(Maps.unmodifiableBiMap(HashBiMap.create()));
+	
+	@Override
+	protected BiMap<K, V> delegate()
+	{
+		return snapshot.get();
+	}
+	
+	private synchronized <R> R write(Function<BiMap<K, V>, R> action)
+	{
+		final BiMap<K, V> copy = HashBiMap.create(snapshot.get());
+		final R result = action.apply(copy);
+		snapshot.set(Maps.unmodifiableBiMap(copy));
+		return result;
+	}
+	
+	private void update(Consumer<BiMap<K, V>> action)
+	{
+		write(m ->
+		{
+			action.accept(m);
+			return null;
+		});
+	}
+	
+	@Override
+	public V put(K key, V value)
+	{
+		return write(m -> m.put(key, value));
+	}
+	
+	@Override
+	public V forcePut(K key, V value)
+	{
+		return write(m -> m.forcePut(key, value));
+	}
+	
+	@Override
+	public void putAll(Map<? extends K, ? extends V> map)
+	{
+		update(m -> m.putAll(map));
+	}
+	
+	@Override
+	public V remove(Object key)
+	{
+		return write(m -> m.remove(key));
+	}
+	
+	@Override
+	public void clear()
+	{
+		update(Map::clear);
+	}
+	
+	@Override
+	public Set<V> values()
+	{
+		return delegate().values();
+	}
+	
+	@Override
+	public BiMap<V, K> inverse()
+	{
+		return delegate().inverse();
+	}
+	
+	@Override
+	public V putIfAbsent(K key, V value)
+	{
+		final V existing = get(key);
+		return existing != null ? existing : write(m -> m.putIfAbsent(key, value));
+	}
+	
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction)
+	{
+		final V existing = get(key);
+		return existing != null ? existing : write(m -> m.computeIfAbsent(key, mappingFunction));
+	}
+}
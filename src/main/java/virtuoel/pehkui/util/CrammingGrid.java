@@ -0,0 +1,169 @@
+package virtuoel.pehkui.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.GameRules;
+import net.minecraft.world.World;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+
+/**
+ * Per-world spatial hash used by the cramming of small entities.
+ * <p>The first small entity to cram within a chunk section on a given tick looks up the entities around that section once,
+ * and hashes them into cells. Every other small entity in that section then only checks the cells around its own interaction box.
+ * Cells are filled from the positions at the time of that lookup, but candidates are tested against their current interaction box.
+ */
+public class CrammingGrid
+{
+	private static final double CELL_SIZE = 0.25D;
+	private static final double SECTION_MARGIN = 1.0D;
+	
+	private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+	private long tick = Long.MIN_VALUE;
+	
+	/**
+	 * @return Whether cramming with the given interaction box should go through the grid
+	 */
+	public static boolean shouldUseGrid(Box box)
+	{
+		final double maximumSize = PehkuiConfigSnapshot.get().getCrammingGridEntitySize();
+		
+		return maximumSize > 0.0D && Math.max(box.getXLength(), Math.max(box.getYLength(), box.getZLength())) <= Math.min(maximumSize, SECTION_MARGIN);
+	}
+	
+	/**
+	 * @return Up to {@code crammingNeighborLimit} entities, or up to the {@code maxEntityCramming} game rule if that is higher, other than the given one whose interaction box intersects the given box and that match the given predicate
+	 */
+	public List<Entity> getOtherEntities(World world, Entity except, Box box, Predicate<? super Entity> predicate)
+	{
+		final long time = world.getTime();
+		
+		if (time != tick)
+		{
+			tick = time;
+			sections.clear();
+		}
+		
+		final int sectionX = MathHelper.floor((box.minX + box.maxX) * 0.5D) >> 4;
+		final int sectionY = MathHelper.floor((box.minY + box.maxY) * 0.5D) >> 4;
+		final int sectionZ = MathHelper.floor((box.minZ + box.maxZ) * 0.5D) >> 4;
+		final long key = ChunkSectionPos.asLong(sectionX, sectionY, sectionZ);
+		
+		Section section = sections.get(key);
+		
+		if (section == null)
+		{
+			section = new Section(world, sectionX, sectionY, sectionZ);
+			sections.put(key, section);
+		}
+		
+		final int limit = Math.max(PehkuiConfigSnapshot.get().getCrammingNeighborLimit(), world.getGameRules().getInt(GameRules.MAX_ENTITY_CRAMMING));
+		
+		return section.getOtherEntities(except, box, predicate, Math.max(1, limit));
+	}
+	
+	private static class Section
+	{
+		private final Long2ObjectMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+		private final List<Entity> large = new ArrayList<>();
+		
+		private Section(World world, int sectionX, int sectionY, int sectionZ)
+		{
+			final int x = sectionX << 4;
+			final int y = sectionY << 4;
+			final int z = sectionZ << 4;
+			final Box bounds = new Box(x, y, z, x + 16, y + 16, z + 16).expand(SECTION_MARGIN);
+			
+			Box box;
+			for (final Entity entity : world.getOtherEntities(null, bounds, e -> true))
+			{
+				box = ScaleUtils.getInteractionBox(entity);
+				
+				if (box.getXLength() > CELL_SIZE || box.getYLength() > CELL_SIZE || box.getZLength() > CELL_SIZE)
+				{
+					large.add(entity);
+				}
+				else
+				{
+					cells.computeIfAbsent(cellKey(cell(box.minX), cell(box.minY), cell(box.minZ)), k -> new ArrayList<>()).add(entity);
+				}
+			}
+		}
+		
+		/**
+		 * Entities no larger than a cell are only stored in the cell of their minimum corner, so cells one lower along each axis are checked as well.
+		 */
+		private List<Entity> getOtherEntities(Entity except, Box box, Predicate<? super Entity> predicate, int limit)
+		{
+			final List<Entity> found = new ArrayList<>();
+			
+			if (collect(large, except, box, predicate, found, limit))
+			{
+				return found;
+			}
+			
+			final int minX = cell(box.minX) - 1;
+			final int minY = cell(box.minY) - 1;
+			final int minZ = cell(box.minZ) - 1;
+			final int maxX = cell(box.maxX);
+			final int maxY = cell(box.maxY);
+			final int maxZ = cell(box.maxZ);
+			
+			for (int x = minX; x <= maxX; x++)
+			{
+				for (int y = minY; y <= maxY; y++)
+				{
+					for (int z = minZ; z <= maxZ; z++)
+					{
+						if (collect(cells.getOrDefault(cellKey(x, y, z), Collections.emptyList()), except, box, predicate, found, limit))
+						{
+							return found;
+						}
+					}
+				}
+			}
+			
+			return found;
+		}
+		
+		/**
+		 * @return Whether the limit was reached
+		 */
+		private static boolean collect(List<Entity> candidates, Entity except, Box box, Predicate<? super Entity> predicate, List<Entity> found, int limit)
+		{
+			for (final Entity entity : candidates)
+			{
+				if (entity != except && entity.isAlive() && ScaleUtils.getInteractionBox(entity).intersects(box) && predicate.test(entity))
+				{
+					found.add(entity);
+					
+					if (found.size() >= limit)
+					{
+						return true;
+					}
+				}
+			}
+			
+			return false;
+		}
+	}
+	
+	private static int cell(double coord)
+	{
+		return MathHelper.floor(coord / CELL_SIZE);
+	}
+	
+	private static long cellKey(int x, int y, int z)
+	{
+		return BlockPos.asLong(x, y, z);
+	}
+}
@@ -0,0 +1,208 @@
+package virtuoel.pehkui.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+/**
+ * Entity ray casts for long, scaled reach distances.
+ * <p>Instead of gathering every entity in the box around the whole ray, chunk sections are walked along the ray in order,
+ * and the walk stops once an entity is hit before the ray leaves the current section, since no entity in a later section can be hit earlier.
+ * <p>Each section is searched with a margin covering how far an entity's ray cast box can reach past its bounding box,
+ * so entities whose ray cast box reaches into a section are found while that section is walked.
+ */
+public class EntityRaycastUtils
+{
+	/**
+	 * Rays at least this long are walked by section.
+	 */
+	public static final double SECTION_WALK_DISTANCE = 32.0D;
+	
+	private static final double SECTION_SIZE = 16.0D;
+	
+	/**
+	 * How far past its interaction box an entity's targeting margin is assumed to reach, in blocks.
+	 */
+	private static final double TARGETING_MARGIN = 1.0D;
+	
+	/**
+	 * How far entities' ray cast boxes can reach past their bounding boxes, in blocks.
+	 * Entities reaching further are in the {@link OversizedEntityIndex} and found by their interaction box instead.
+	 */
+	private static final double SECTION_HORIZONTAL_MARGIN = OversizedEntityIndex.HORIZONTAL_MARGIN + TARGETING_MARGIN;
+	private static final double SECTION_VERTICAL_MARGIN = OversizedEntityIndex.VERTICAL_MARGIN + TARGETING_MARGIN;
+	
+	public static boolean shouldWalkSections(Vec3d start, Vec3d end)
+	{
+		return start.squaredDistanceTo(end) >= SECTION_WALK_DISTANCE * SECTION_WALK_DISTANCE;
+	}
+	
+	/**
+	 * @return The bounding box an entity is ray cast against before its targeting margin is added
+	 */
+	public static Box getRaycastBox(Entity entity)
+	{
+		final Box bounds = entity.getBoundingBox();
+		final float margin = entity.getTargetingMargin();
+		
+		final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(entity);
+		final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(entity);
+		
+		if (interactionWidth != 1.0F || interactionHeight != 1.0F)
+		{
+			final double scaledXLength = bounds.getXLength() * 0.5D * (interactionWidth - 1.0F);
+			final double scaledYLength = bounds.getYLength() * 0.5D * (interactionHeight - 1.0F);
+			final double scaledZLength = bounds.getZLength() * 0.5D * (interactionWidth - 1.0F);
+			final double scaledMarginWidth = margin * (interactionWidth - 1.0F);
+			final double scaledMarginHeight = margin * (interactionHeight - 1.0F);
+			
+			return bounds.expand(scaledXLength + scaledMarginWidth, scaledYLength + scaledMarginHeight, scaledZLength + scaledMarginWidth);
+		}
+		
+		return bounds;
+	}
+	
+	/**
+	 * Gathers the entities a ray cast from {@code start} to {@code end} has to consider, walking chunk sections along the ray.
+	 * The result contains every entity that could be the closest hit, so choosing from it gives the same result as choosing from every entity within {@code box}.
+	 * 
+	 * @param except Entity casting the ray
+	 * @param box Box around the whole ray that vanilla would have searched
+	 */
+	public static List<Entity> getEntitiesAlongRay(World world, Entity except, Vec3d start, Vec3d end, Box box, Predicate<? super Entity> predicate)
+	{
+		final Entity rootVehicle = except.getRootVehicle();
+		
+		return walkSections(
+			start, end, box,
+			section -> world.getOtherEntities(except, section, predicate),
+			entity -> getRaycastBox(entity).expand(entity.getTargetingMargin()),
+			entity -> entity.getRootVehicle() != rootVehicle
+		);
+	}
+	
+	/**
+	 * @param query Returns the candidates within a box
+	 * @param targetBox Returns the box the ray is cast against for a candidate
+	 * @param hittable Whether the ray can hit a candidate from outside its target box
+	 */
+	static <T> List<T> walkSections(Vec3d start, Vec3d end, Box box, Function<Box, ? extends Iterable<? extends T>> query, Function<? super T, Box> targetBox, Predicate<? super T> hittable)
+	{
+		final List<T> found = new ArrayList<>();
+		final Set<T> seen = new ReferenceOpenHashSet<>();
+		
+		final double dx = end.x - start.x;
+		final double dy = end.y - start.y;
+		final double dz = end.z - start.z;
+		
+		int x = MathHelper.floor(start.x) >> 4;
+		int y = MathHelper.floor(start.y) >> 4;
+		int z = MathHelper.floor(start.z) >> 4;
+		
+		final int stepX = dx > 0.0D ? 1 : dx < 0.0D ? -1 : 0;
+		final int stepY = dy > 0.0D ? 1 : dy < 0.0D ? -1 : 0;
+		final int stepZ = dz > 0.0D ? 1 : dz < 0.0D ? -1 : 0;
+		
+		final double deltaX = stepX == 0 ? Double.POSITIVE_INFINITY : SECTION_SIZE / Math.abs(dx);
+		final double deltaY = stepY == 0 ? Double.POSITIVE_INFINITY : SECTION_SIZE / Math.abs(dy);
+		final double deltaZ = stepZ == 0 ? Double.POSITIVE_INFINITY : SECTION_SIZE / Math.abs(dz);
+		
+		double maxX = firstBoundary(start.x, dx, x, stepX);
+		double maxY = firstBoundary(start.y, dy, y, stepY);
+		double maxZ = firstBoundary(start.z, dz, z, stepZ);
+		
+		double nearestHit = Double.POSITIVE_INFINITY;
+		
+		double exit;
+		Box section;
+		Box target;
+		Optional<Vec3d> hit;
+		while (true)
+		{
+			exit = Math.min(1.0D, Math.min(maxX, Math.min(maxY, maxZ)));
+			section = new Box(x << 4, y << 4, z << 4, (x + 1) << 4, (y + 1) << 4, (z + 1) << 4).expand(SECTION_HORIZONTAL_MARGIN, SECTION_VERTICAL_MARGIN, SECTION_HORIZONTAL_MARGIN);
+			
+			if (section.intersects(box))
+			{
+				for (final T candidate : query.apply(section.intersection(box)))
+				{
+					if (!seen.add(candidate))
+					{
+						continue;
+					}
+					
+					found.add(candidate);
+					
+					target = targetBox.apply(candidate);
+					
+					if (target.contains(start))
+					{
+						nearestHit = 0.0D;
+					}
+					else if (hittable.test(candidate))
+					{
+						hit = target.raycast(start, end);
+						
+						if (hit.isPresent())
+						{
+							nearestHit = Math.min(nearestHit, Math.sqrt(start.squaredDistanceTo(hit.get()) / (dx * dx + dy * dy + dz * dz)));
+						}
+					}
+				}
+			}
+			
+			if (nearestHit <= exit || exit >= 1.0D)
+			{
+				break;
+			}
+			
+			if (maxX <= maxY && maxX <= maxZ)
+			{
+				x += stepX;
+				maxX += deltaX;
+			}
+			else if (maxY <= maxZ)
+			{
+				y += stepY;
+				maxY += deltaY;
+			}
+			else
+			{
+				z += stepZ;
+				maxZ += deltaZ;
+			}
+		}
+		
+		return found;
+	}
+	
+	/**
+	 * @return Fraction of the ray at which it first crosses a section boundary along one axis
+	 */
+	private static double firstBoundary(double start, double delta, int section, int step)
+	{
+		if (step == 0)
+		{
+			return Double.POSITIVE_INFINITY;
+		}
+		
+		final double boundary = step > 0 ? (section + 1) * SECTION_SIZE : section * SECTION_SIZE;
+		
+		return (boundary - start) / delta;
+	}
+	
+	private EntityRaycastUtils()
+	{
+	
+	}
+}
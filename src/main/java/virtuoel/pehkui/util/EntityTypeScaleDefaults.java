@@ -0,0 +1,203 @@
+package virtuoel.pehkui.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.util.Identifier;
+import virtuoel.pehkui.Pehkui;
+import virtuoel.pehkui.api.PehkuiConfig;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.api.ScaleRegistries;
+import virtuoel.pehkui.api.ScaleType;
+import virtuoel.pehkui.api.ScaleTypes;
+
+/**
+ * Per-{@link EntityType} default base scales and base value modifiers, read from the synced {@code entityTypeDefaultScales} config.
+ * <p>Each entry has the form {@code <entity_type> <scale_type> <base_scale> [scale_modifier...]}, e.g. {@code minecraft:zombie pehkui:base 1.5}.
+ * <p>Scale data that matches its entity type's defaults is neither saved nor synced, so the client must resolve the same table, which it receives through config sync.
+ */
+public class EntityTypeScaleDefaults
+{
+	private static volatile ParsedTable table = new ParsedTable(null, Collections.emptyMap());
+	
+	/**
+	 * Bumped whenever the config changes, so scale data knows to resolve its defaults again.
+	 */
+	private static volatile int generation = 0;
+	
+	static
+	{
+		PehkuiConfigSnapshot.CHANGED.register(EntityTypeScaleDefaults::invalidate);
+	}
+	
+	public static int getGeneration()
+	{
+		return generation;
+	}
+	
+	private static synchronized void invalidate()
+	{
+		generation++;
+	}
+	
+	/**
+	 * @return The defaults for the given scale type and entity, or null if the scale type's own defaults apply
+	 */
+	public static @Nullable Entry get(final ScaleType scaleType, @Nullable final Entity entity)
+	{
+		if (entity == null)
+		{
+			return null;
+		}
+		
+		final Map<ScaleType, Entry> entries = getTable().get(entity.getType());
+		
+		return entries == null ? null : entries.get(scaleType);
+	}
+	
+	private static Map<EntityType<?>, Map<ScaleType, Entry>> getTable()
+	{
+		final List<String> entries = PehkuiConfig.COMMON.entityTypeDefaultScales.get();
+		final ParsedTable current = table;
+		
+		if (entries == current.entries)
+		{
+			return current.table;
+		}
+		
+		synchronized (EntityTypeScaleDefaults.class)
+		{
+			final ParsedTable latest = table;
+			
+			if (entries != latest.entries)
+			{
+				table = new ParsedTable(entries, entries.equals(latest.entries) ? latest.table : parse(entries));
+			}
+			
+			return table.table;
+		}
+	}
+	
+	/**
+	 * Parsed table along with the config list it was parsed from, published together so readers never see one without the other.
+	 */
+	private static final class ParsedTable
+	{
+		private final List<String> entries;
+		private final Map<EntityType<?>, Map<ScaleType, Entry>> table;
+		
+		private ParsedTable(@Nullable final List<String> entries, final Map<EntityType<?>, Map<ScaleType, Entry>> table)
+		{
+			this.entries = entries;
+			this.table = table;
+		}
+	}
+	
+	private static Map<EntityType<?>, Map<ScaleType, Entry>> parse(final List<String> entries)
+	{
+		if (entries.isEmpty())
+		{
+			return Collections.emptyMap();
+		}
+		
+		final Map<EntityType<?>, Map<ScaleType, Entry>> parsed = new HashMap<>();
+		
+		String[] parts;
+		for (final String line : entries)
+		{
+			parts = line.trim().split("\\s+");
+			
+			if (parts.length < 3)
+			{
+				Pehkui.LOGGER.warn("Skipping malformed entity type default scale \"{}\".", line);
+				continue;
+			}
+			
+			final Optional<EntityType<?>> entityType = EntityType.get(parts[0].toLowerCase(Locale.ROOT));
+			if (!entityType.isPresent())
+			{
+				Pehkui.LOGGER.warn("Skipping entity type default scale for unknown entity type \"{}\".", parts[0]);
+				continue;
+			}
+			
+			final ScaleType scaleType = ScaleRegistries.getEntry(ScaleRegistries.SCALE_TYPES, Identifier.tryParse(parts[1]));
+			if (scaleType == null || scaleType == ScaleTypes.INVALID)
+			{
+				Pehkui.LOGGER.warn("Skipping entity type default scale for unknown scale type \"{}\".", parts[1]);
+				continue;
+			}
+			
+			final float baseScale;
+			try
+			{
+				baseScale = Float.parseFloat(parts[2]);
+			}
+			catch (NumberFormatException e)
+			{
+				Pehkui.LOGGER.warn("Skipping entity type default scale with invalid value \"{}\".", parts[2]);
+				continue;
+			}
+			
+			final Set<ScaleModifier> modifiers = new ObjectLinkedOpenHashSet<>();
+			
+			ScaleModifier modifier;
+			for (int i = 3; i < parts.length; i++)
+			{
+				modifier = ScaleRegistries.getEntry(ScaleRegistries.SCALE_MODIFIERS, Identifier.tryParse(parts[i]));
+				if (modifier == null)
+				{
+					Pehkui.LOGGER.warn("Ignoring unknown scale modifier \"{}\" in entity type default scale \"{}\".", parts[i], line);
+				}
+				else
+				{
+					modifiers.add(modifier);
+				}
+			}
+			
+			parsed.computeIfAbsent(entityType.get(), t -> new HashMap<>()).put(scaleType, new Entry(baseScale, modifiers.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(modifiers)));
+		}
+		
+		return parsed;
+	}
+	
+	public static final class Entry
+	{
+		private final float baseScale;
+		private final Set<ScaleModifier> baseValueModifiers;
+		
+		private Entry(final float baseScale, final Set<ScaleModifier> baseValueModifiers)
+		{
+			this.baseScale = baseScale;
+			this.baseValueModifiers = baseValueModifiers;
+		}
+		
+		public float getBaseScale()
+		{
+			return baseScale;
+		}
+		
+		/**
+		 * @return Modifiers applied in addition to the scale type's {@link ScaleType#getDefaultBaseValueModifiers()}
+		 */
+		public Set<ScaleModifier> getBaseValueModifiers()
+		{
+			return baseValueModifiers;
+		}
+	}
+	
+	private EntityTypeScaleDefaults()
+	{
+	
+	}
+}
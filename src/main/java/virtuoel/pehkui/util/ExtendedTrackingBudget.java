@@ -0,0 +1,66 @@
+package virtuoel.pehkui.util;
+
+import it.unimi.dsi.fastutil.objects.Object2DoubleMap;
+import it.unimi.dsi.fastutil.objects.Object2DoubleOpenHashMap;
+import net.minecraft.entity.Entity;
+
+/**
+ * Entities a player tracks only because their tracking range was extended by their scale.
+ * <p>When full, an entity that appears larger than the smallest admitted one takes its place.
+ * Admitted entities that have since become unscaled are displaced first, since their range is no longer looked up once they are unscaled.
+ * The displaced entity stops being tracked the next time its tracker updates.
+ */
+public class ExtendedTrackingBudget
+{
+	private final Object2DoubleMap<Entity> apparentSizes = new Object2DoubleOpenHashMap<>();
+	
+	/**
+	 * @return Whether the entity may be tracked at its extended range
+	 */
+	public boolean admit(Entity entity, double apparentSize, int limit)
+	{
+		if (apparentSizes.containsKey(entity) || apparentSizes.size() < limit)
+		{
+			apparentSizes.put(entity, apparentSize);
+			return true;
+		}
+		
+		Entity smallest = null;
+		double smallestSize = apparentSize;
+		
+		for (final Object2DoubleMap.Entry<Entity> entry : apparentSizes.object2DoubleEntrySet())
+		{
+			if (ScaleUtils.isUnscaled(entry.getKey()))
+			{
+				smallest = entry.getKey();
+				break;
+			}
+			
+			if (entry.getDoubleValue() < smallestSize)
+			{
+				smallest = entry.getKey();
+				smallestSize = entry.getDoubleValue();
+			}
+		}
+		
+		if (smallest == null)
+		{
+			return false;
+		}
+		
+		apparentSizes.removeDouble(smallest);
+		apparentSizes.put(entity, apparentSize);
+		
+		return true;
+	}
+	
+	public void release(Entity entity)
+	{
+		apparentSizes.removeDouble(entity);
+	}
+	
+	public int size()
+	{
+		return apparentSizes.size();
+	}
+}
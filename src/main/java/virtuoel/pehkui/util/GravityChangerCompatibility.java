@@ -1,9 +1,12 @@
 package virtuoel.pehkui.util;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.util.math.Direction;
 
@@ -19,6 +22,8 @@ public class GravityChangerCompatibility
 	private final Optional<Class<?>> accessorClass;
 	private final Optional<Method> accessorGetterMethod;
 	
+	private final @Nullable MethodHandle gravityDirectionHandle;
+	
 	private boolean enabled;
 	
 	private GravityChangerCompatibility()
@@ -32,6 +37,11 @@ public class GravityChangerCompatibility
 			
 			this.accessorClass = ReflectionUtils.getClass("me.andrew.gravitychanger.accessor.EntityAccessor");
 			this.accessorGetterMethod = ReflectionUtils.getMethod(accessorClass, "gravitychanger$getAppliedGravityDirection");
+			
+			final MethodType type = MethodType.methodType(Direction.class, PlayerEntity.class);
+			final MethodHandle getter = ReflectionUtils.unreflect(getterMethod, type);
+			
+			this.gravityDirectionHandle = getter != null ? getter : ReflectionUtils.unreflect(accessorGetterMethod, type);
 		}
 		else
 		{
@@ -40,44 +50,49 @@ public class GravityChangerCompatibility
 			
 			this.accessorClass = Optional.empty();
 			this.accessorGetterMethod = Optional.empty();
+			
+			this.gravityDirectionHandle = null;
 		}
+		
+		this.enabled &= this.gravityDirectionHandle != null;
 	}
 	
 	public Direction getGravityDirection(PlayerEntity entity)
 	{
 		if (this.enabled)
 		{
-			return getterMethod.map(m ->
-			{
-				try
-				{
-					return (Direction) m.invoke(null, entity);
-				}
-				catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-				{
-					return Direction.DOWN;
-				}
-			})
-			.orElseGet(() ->
+			final PehkuiEntityExtensions e = (PehkuiEntityExtensions) entity;
+			final long time = entity.world.getTime();
+			final Direction cached = e.pehkui_getCachedGravityDirection(time);
+			
+			if (cached != null)
 			{
-				return accessorGetterMethod.map(m ->
-				{
-					try
-					{
-						return (Direction) m.invoke(entity);
-					}
-					catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-					{
-						return Direction.DOWN;
-					}
-				})
-				.orElse(Direction.DOWN);
-			});
+				return cached;
+			}
+			
+			final Direction gravity = readGravityDirection(entity);
+			e.pehkui_cacheGravityDirection(gravity, time);
+			
+			return gravity;
 		}
 		
 		return Direction.DOWN;
 	}
 	
+	private Direction readGravityDirection(PlayerEntity entity)
+	{
+		try
+		{
+			final Direction gravity = (Direction) gravityDirectionHandle.invokeExact(entity);
+			
+			return gravity == null ? Direction.DOWN : gravity;
+		}
+		catch (Throwable e)
+		{
+			return Direction.DOWN;
+		}
+	}
+	
 	public float getXCorrection(PlayerEntity player)
 	{
 		if (this.enabled)
@@ -1,9 +1,13 @@
 package virtuoel.pehkui.util;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
 
@@ -22,6 +26,8 @@ public class IdentityCompatibility
 	private final Optional<Method> getComponent;
 	private final Optional<Method> getIdentity;
 	
+	private final @Nullable MethodHandle getIdentityHandle;
+	
 	private boolean enabled;
 	
 	private IdentityCompatibility()
@@ -48,6 +54,19 @@ public class IdentityCompatibility
 			
 			this.getComponent = ReflectionUtils.getMethod(componentTypeClass, "get", Object.class);
 			this.getIdentity = ReflectionUtils.getMethod(identityComponentClass, "getIdentity");
+			
+			final MethodHandle component = ReflectionUtils.unreflect(getComponent, MethodType.methodType(Object.class, Object.class, Object.class));
+			final MethodHandle identity = ReflectionUtils.unreflect(getIdentity, MethodType.methodType(LivingEntity.class, Object.class));
+			
+			this.getIdentityHandle = currentIdentity.map(t ->
+			{
+				if (component == null || identity == null)
+				{
+					return null;
+				}
+				
+				return MethodHandles.filterReturnValue(component.bindTo(t), identity).asType(MethodType.methodType(LivingEntity.class, PlayerEntity.class));
+			}).orElse(null);
 		}
 		else
 		{
@@ -59,30 +78,23 @@ public class IdentityCompatibility
 			
 			this.getComponent = Optional.empty();
 			this.getIdentity = Optional.empty();
+			
+			this.getIdentityHandle = null;
 		}
 	}
 	
 	public LivingEntity getIdentity(PlayerEntity entity)
 	{
-		if (this.enabled)
+		if (this.enabled && getIdentityHandle != null)
 		{
-			return currentIdentity.flatMap(t ->
+			try
 			{
-				return getComponent.flatMap(c ->
-				{
-					return getIdentity.map(m ->
-					{
-						try
-						{
-							return (LivingEntity) m.invoke(c.invoke(t, entity));
-						}
-						catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-						{
-							return null;
-						}
-					});
-				});
-			}).orElse(null);
+				return (LivingEntity) getIdentityHandle.invokeExact(entity);
+			}
+			catch (Throwable e)
+			{
+				return null;
+			}
 		}
 		
 		return null;
@@ -1,10 +1,17 @@
 package virtuoel.pehkui.util;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.function.IntPredicate;
 
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.world.World;
+
 public class MulticonnectCompatibility
 {
 	private static final boolean MULTICONNECT_LOADED = ModLoaderUtils.isModLoaded("multiconnect");
@@ -15,6 +22,13 @@ public class MulticonnectCompatibility
 	private final Optional<Method> instanceMethod;
 	private final Optional<Method> protocolVersion;
 	
+	private final @Nullable MethodHandle protocolVersionHandle;
+	
+	/**
+	 * Protocol version along with the world it was read for. A client world only lives as long as its connection, so this is refreshed once per connection and dimension change.
+	 */
+	private volatile CachedProtocolVersion cachedProtocolVersion = null;
+	
 	private boolean enabled;
 	
 	private MulticonnectCompatibility()
@@ -28,36 +42,91 @@ public class MulticonnectCompatibility
 			this.instanceMethod = ReflectionUtils.getMethod(multiconnectApiClass, "instance");
 			
 			this.protocolVersion = ReflectionUtils.getMethod(multiconnectApiClass, "getProtocolVersion");
+			
+			final MethodHandle instance = ReflectionUtils.unreflect(instanceMethod, MethodType.methodType(Object.class));
+			final MethodHandle version = ReflectionUtils.unreflect(protocolVersion, MethodType.methodType(int.class, Object.class));
+			
+			this.protocolVersionHandle = instance == null || version == null ? null : MethodHandles.filterReturnValue(instance, version);
 		}
 		else
 		{
 			this.multiconnectApiClass = Optional.empty();
 			this.instanceMethod = Optional.empty();
 			this.protocolVersion = Optional.empty();
+			
+			this.protocolVersionHandle = null;
 		}
+		
+		this.enabled &= this.protocolVersionHandle != null;
 	}
 	
+	/**
+	 * @deprecated Use {@link #getProtocolDependantValue(World, IntPredicate, Object, Object)}, which caches the protocol version
+	 */
+	@Deprecated
 	public <T> T getProtocolDependantValue(IntPredicate protocolPredicate, T trueValue, T defaultValue)
 	{
 		if (this.enabled)
 		{
-			return instanceMethod.flatMap(m ->
-			{
-				return protocolVersion.map(f ->
-				{
-					try
-					{
-						return protocolPredicate.test((int) f.invoke(m.invoke(null))) ? trueValue : defaultValue;
-					}
-					catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-					{
-						return defaultValue;
-					}
-				});
-			})
-			.orElse(defaultValue);
+			final int version = readProtocolVersion();
+			
+			return version != -1 && protocolPredicate.test(version) ? trueValue : defaultValue;
+		}
+		
+		return defaultValue;
+	}
+	
+	public <T> T getProtocolDependantValue(World world, IntPredicate protocolPredicate, T trueValue, T defaultValue)
+	{
+		if (this.enabled)
+		{
+			final int version = getProtocolVersion(world);
+			
+			return version != -1 && protocolPredicate.test(version) ? trueValue : defaultValue;
 		}
 		
 		return defaultValue;
 	}
+	
+	/**
+	 * @return The protocol version of the connection the given world belongs to, or -1 if unknown
+	 */
+	private int getProtocolVersion(World world)
+	{
+		final CachedProtocolVersion cached = this.cachedProtocolVersion;
+		
+		if (cached != null && cached.world.get() == world)
+		{
+			return cached.version;
+		}
+		
+		final int version = readProtocolVersion();
+		this.cachedProtocolVersion = new CachedProtocolVersion(world, version);
+		
+		return version;
+	}
+	
+	private int readProtocolVersion()
+	{
+		try
+		{
+			return (int) protocolVersionHandle.invokeExact();
+		}
+		catch (Throwable e)
+		{
+			return -1;
+		}
+	}
+	
+	private static final class CachedProtocolVersion
+	{
+		private final WeakReference<World> world;
+		private final int version;
+		
+		private CachedProtocolVersion(final World world, final int version)
+		{
+			this.world = new WeakReference<>(world);
+			this.version = version;
+		}
+	}
 }
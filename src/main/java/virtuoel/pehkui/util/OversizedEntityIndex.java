@@ -0,0 +1,138 @@
+package virtuoel.pehkui.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.Box;
+import net.minecraft.world.World;
+
+/**
+ * Per-world index of scaled entities whose interaction box reaches further from their position than entity queries search around the query box.
+ * <p>Entity queries only visit the chunk sections near the query box, so these entities are checked separately and merged into the query results.
+ * Entities that leave the world are dropped lazily the next time the index is queried.
+ */
+public class OversizedEntityIndex
+{
+	/**
+	 * How far entity queries search horizontally past the query box, and how far below it, in blocks.
+	 */
+	static final double HORIZONTAL_MARGIN = 2.0D;
+	static final double VERTICAL_MARGIN = 4.0D;
+	
+	private final ReferenceOpenHashSet<Entity> entities = new ReferenceOpenHashSet<>();
+	
+	public boolean isEmpty()
+	{
+		return entities.isEmpty();
+	}
+	
+	public int size()
+	{
+		return entities.size();
+	}
+	
+	/**
+	 * Updates the index membership of the given entity.
+	 * 
+	 * @param entity Entity to check
+	 * @param indexedWorld World whose index the entity was previously added to, or null
+	 * @return World whose index the entity is now in, or null
+	 */
+	public static @Nullable World update(Entity entity, @Nullable World indexedWorld)
+	{
+		final World world = entity.world;
+		final boolean oversized = world != null && isOversized(entity);
+		
+		if (indexedWorld != null && (indexedWorld != world || !oversized))
+		{
+			((PehkuiWorldExtensions) indexedWorld).pehkui_getOversizedEntities().entities.remove(entity);
+		}
+		
+		if (oversized)
+		{
+			((PehkuiWorldExtensions) world).pehkui_getOversizedEntities().entities.add(entity);
+			return world;
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Adds indexed entities whose interaction box intersects the given box to the results of an entity query.
+	 * 
+	 * @param world World that was queried
+	 * @param box Query box
+	 * @param results Entities found by the query, which are not added again
+	 * @param filter Maps a candidate entity to the result to add, or to null if the query rejects it
+	 */
+	public <T> void collect(World world, Box box, List<? super T> results, Function<Entity, T> filter)
+	{
+		if (entities.isEmpty())
+		{
+			return;
+		}
+		
+		final Iterator<Entity> iterator = entities.iterator();
+		
+		ReferenceOpenHashSet<Object> found = null;
+		Entity entity;
+		T result;
+		while (iterator.hasNext())
+		{
+			entity = iterator.next();
+			
+			if (entity.world != world || world.getEntityById(entity.getId()) != entity)
+			{
+				iterator.remove();
+				continue;
+			}
+			
+			if (!ScaleUtils.getInteractionBox(entity).intersects(box))
+			{
+				continue;
+			}
+			
+			result = filter.apply(entity);
+			
+			if (result == null)
+			{
+				continue;
+			}
+			
+			if (found == null)
+			{
+				found = new ReferenceOpenHashSet<>(results);
+			}
+			
+			if (found.add(result))
+			{
+				results.add(result);
+			}
+		}
+	}
+	
+	private static boolean isOversized(Entity entity)
+	{
+		final float interactionWidth = ScaleUtils.getInteractionBoxWidthScale(entity);
+		final float interactionHeight = ScaleUtils.getInteractionBoxHeightScale(entity);
+		
+		if (interactionWidth == 1.0F && interactionHeight == 1.0F && ScaleUtils.getBoundingBoxWidthScale(entity) == 1.0F && ScaleUtils.getBoundingBoxHeightScale(entity) == 1.0F)
+		{
+			return false;
+		}
+		
+		final Box bounds = ScaleUtils.getInteractionBox(entity);
+		final double x = entity.getX();
+		final double y = entity.getY();
+		final double z = entity.getZ();
+		
+		return x - bounds.minX > HORIZONTAL_MARGIN || bounds.maxX - x > HORIZONTAL_MARGIN ||
+			z - bounds.minZ > HORIZONTAL_MARGIN || bounds.maxZ - z > HORIZONTAL_MARGIN ||
+			bounds.maxY - y > VERTICAL_MARGIN || bounds.minY < y;
+	}
+}
@@ -0,0 +1,9 @@
+package virtuoel.pehkui.util;
+
+public interface PehkuiChunkExtensions
+{
+	/**
+	 * @return A stamp that increases whenever a block in this chunk changes. Stamps are shared between all chunks, so a newly loaded chunk also gets a new stamp.
+	 */
+	long pehkui_getModificationStamp();
+}
@@ -3,7 +3,10 @@ package virtuoel.pehkui.util;
 import java.util.Map;
 
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Direction;
 import virtuoel.pehkui.api.ScaleData;
+import virtuoel.pehkui.api.ScaleSnapshot;
 import virtuoel.pehkui.api.ScaleType;
 
 public interface PehkuiEntityExtensions
@@ -31,4 +34,36 @@ public interface PehkuiEntityExtensions
 	boolean pehkui_getOnGround();
 	
 	void pehkui_setOnGround(boolean onGround);
+	
+	void pehkui_beginDimensionsBatch();
+	
+	void pehkui_endDimensionsBatch();
+	
+	boolean pehkui_deferDimensionsUpdate();
+	
+	void pehkui_onScalesChanged();
+	
+	int pehkui_getScaleVersion();
+	
+	Box pehkui_getInteractionBox();
+	
+	ScaleSnapshot pehkui_getScaleSnapshot();
+	
+	void pehkui_invalidateScaleSnapshot();
+	
+	/**
+	 * @return Bitmask of scale types that may not evaluate to 1, as computed by {@link ScaleIdentitySummary}
+	 */
+	long pehkui_getNonIdentityScales();
+	
+	void pehkui_invalidateScaleSummary();
+	
+	/**
+	 * Keyed on world time rather than entity age, since the age of entities that are not ticked, like dead players, stops advancing.
+	 * 
+	 * @return The gravity direction cached in the entity's current world at the given world time, or null if none was cached on that tick
+	 */
+	Direction pehkui_getCachedGravityDirection(long time);
+	
+	void pehkui_cacheGravityDirection(Direction direction, long time);
 }
@@ -0,0 +1,14 @@
+package virtuoel.pehkui.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.datafixers.util.Pair;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+
+public interface PehkuiExplosionExtensions
+{
+	void pehkui_setDropCollector(@Nullable ObjectArrayList<Pair<ItemStack, BlockPos>> drops);
+}
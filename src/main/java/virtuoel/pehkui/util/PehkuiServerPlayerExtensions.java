@@ -0,0 +1,6 @@
+package virtuoel.pehkui.util;
+
+public interface PehkuiServerPlayerExtensions
+{
+	ExtendedTrackingBudget pehkui_getExtendedTrackingBudget();
+}
@@ -0,0 +1,12 @@
+package virtuoel.pehkui.util;
+
+public interface PehkuiWorldExtensions
+{
+	TimingWheel pehkui_getScaleModifierTimers();
+	
+	OversizedEntityIndex pehkui_getOversizedEntities();
+	
+	CrammingGrid pehkui_getCrammingGrid();
+	
+	ScaledExplosionQueue pehkui_getScaledExplosions();
+}
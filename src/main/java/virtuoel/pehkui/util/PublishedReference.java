@@ -0,0 +1,57 @@
+package virtuoel.pehkui.util;
+
+/**
+ * Holds a reference that one thread publishes and other threads read.
+ * <p>Writes have release semantics and reads have acquire semantics, so everything written before publishing a value is visible to threads that read it.
+ * On Java 17 and newer, {@link #create(Object)} returns a version using a {@code VarHandle}, which avoids the full fence of a volatile store.
+ * It is loaded by name, since it is compiled separately for Java 17, and older runtimes use a volatile field instead.
+ */
+public abstract class PublishedReference<V>
+{
+	private static final Factory FACTORY = createFactory();
+	
+	public static <V> PublishedReference<V> create(V initialValue)
+	{
+		return FACTORY.create(initialValue);
+	}
+	
+	public abstract V get();
+	
+	public abstract void set(V value);
+	
+	interface Factory
+	{
+		<V> PublishedReference<V> create(V initialValue);
+	}
+	
+	private static Factory createFactory()
+	{
+		if (getJavaFeatureVersion() >= 17)
+		{
+			try
+			{
+				return (Factory) Class.forName("virtuoel.pehkui.util.VarHandlePublishedReference$Factory").getDeclaredConstructor().newInstance();
+			}
+			catch (ReflectiveOperationException | LinkageError e)
+			{
+				
+			}
+		}
+		
+		return VolatilePublishedReference::new;
+	}
+	
+	static int getJavaFeatureVersion()
+	{
+		final String version = System.getProperty("java.specification.version", "1.8");
+		final int start = version.startsWith("1.") ? 2 : 0;
+		int end = start;
+		
+		while (end < version.length() && Character.isDigit(version.charAt(end)))
+		{
+			end++;
+		}
+		
+		return end > start ? Integer.parseInt(version.substring(start, end)) : 8;
+	}
+}
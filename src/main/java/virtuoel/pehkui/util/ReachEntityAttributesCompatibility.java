@@ -1,9 +1,12 @@
 package virtuoel.pehkui.util;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 import net.minecraft.entity.LivingEntity;
 
 public class ReachEntityAttributesCompatibility
@@ -19,6 +22,11 @@ public class ReachEntityAttributesCompatibility
 	private final Optional<Method> getSquaredReachDistance;
 	private final Optional<Method> getSquaredAttackRange;
 	
+	private final @Nullable MethodHandle getReachDistanceHandle;
+	private final @Nullable MethodHandle getAttackRangeHandle;
+	private final @Nullable MethodHandle getSquaredReachDistanceHandle;
+	private final @Nullable MethodHandle getSquaredAttackRangeHandle;
+	
 	private boolean enabled;
 	
 	private ReachEntityAttributesCompatibility()
@@ -33,6 +41,13 @@ public class ReachEntityAttributesCompatibility
 			this.getAttackRange = ReflectionUtils.getMethod(mainClass, "getAttackRange", LivingEntity.class, double.class);
 			this.getSquaredReachDistance = ReflectionUtils.getMethod(mainClass, "getSquaredReachDistance", LivingEntity.class, double.class);
 			this.getSquaredAttackRange = ReflectionUtils.getMethod(mainClass, "getSquaredAttackRange", LivingEntity.class, double.class);
+			
+			final MethodType type = MethodType.methodType(double.class, LivingEntity.class, double.class);
+			
+			this.getReachDistanceHandle = ReflectionUtils.unreflect(getReachDistance, type);
+			this.getAttackRangeHandle = ReflectionUtils.unreflect(getAttackRange, type);
+			this.getSquaredReachDistanceHandle = ReflectionUtils.unreflect(getSquaredReachDistance, type);
+			this.getSquaredAttackRangeHandle = ReflectionUtils.unreflect(getSquaredAttackRange, type);
 		}
 		else
 		{
@@ -42,44 +57,46 @@ public class ReachEntityAttributesCompatibility
 			this.getAttackRange = Optional.empty();
 			this.getSquaredReachDistance = Optional.empty();
 			this.getSquaredAttackRange = Optional.empty();
+			
+			this.getReachDistanceHandle = null;
+			this.getAttackRangeHandle = null;
+			this.getSquaredReachDistanceHandle = null;
+			this.getSquaredAttackRangeHandle = null;
 		}
 	}
 	
 	public double getReachDistance(LivingEntity entity, double baseValue)
 	{
-		return getReachDistance(getReachDistance, entity, baseValue);
+		return getReachDistance(getReachDistanceHandle, entity, baseValue);
 	}
 	
 	public double getSquaredReachDistance(LivingEntity entity, double baseValue)
 	{
-		return getReachDistance(getSquaredReachDistance, entity, baseValue);
+		return getReachDistance(getSquaredReachDistanceHandle, entity, baseValue);
 	}
 	
 	public double getAttackRange(LivingEntity entity, double baseValue)
 	{
-		return getReachDistance(getAttackRange, entity, baseValue);
+		return getReachDistance(getAttackRangeHandle, entity, baseValue);
 	}
 	
 	public double getSquaredAttackRange(LivingEntity entity, double baseValue)
 	{
-		return getReachDistance(getSquaredAttackRange, entity, baseValue);
+		return getReachDistance(getSquaredAttackRangeHandle, entity, baseValue);
 	}
 	
-	private double getReachDistance(Optional<Method> method, LivingEntity entity, double baseValue)
+	private double getReachDistance(@Nullable MethodHandle handle, LivingEntity entity, double baseValue)
 	{
-		if (this.enabled)
+		if (this.enabled && handle != null)
 		{
-			return method.map(m ->
+			try
+			{
+				return (double) handle.invokeExact(entity, baseValue);
+			}
+			catch (Throwable e)
 			{
-				try
-				{
-					return (double) m.invoke(null, entity, baseValue);
-				}
-				catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
-				{
-					return null;
-				}
-			}).orElse(baseValue);
+				return baseValue;
+			}
 		}
 		
 		return baseValue;
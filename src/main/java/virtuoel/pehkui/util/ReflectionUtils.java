@@ -1,9 +1,15 @@
 package virtuoel.pehkui.util;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 public final class ReflectionUtils
 {
 	public static Optional<Field> getField(final Optional<Class<?>> classObj, final String fieldName)
@@ -57,6 +63,27 @@ public final class ReflectionUtils
 		});
 	}
 	
+	/**
+	 * Converts the given method to a handle adapted to the given type, so callers can use {@link MethodHandle#invokeExact} instead of reflective invocation.
+	 * 
+	 * @return The adapted handle, or null if the method is absent or cannot be adapted
+	 */
+	public static @Nullable MethodHandle unreflect(final Optional<Method> method, final MethodType type)
+	{
+		return method.map(m ->
+		{
+			try
+			{
+				return MethodHandles.lookup().unreflect(m).asType(type);
+			}
+			catch (IllegalAccessException | WrongMethodTypeException e)
+			{
+				
+			}
+			return null;
+		}).orElse(null);
+	}
+	
 	public static Optional<Class<?>> getClass(final String className, final String... classNames)
 	{
 		Optional<Class<?>> ret = getClass(className);
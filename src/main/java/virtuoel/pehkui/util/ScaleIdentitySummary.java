@@ -0,0 +1,192 @@
+package virtuoel.pehkui.util;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.google.common.collect.Iterables;
+
+import net.minecraft.entity.Entity;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+import virtuoel.pehkui.api.ScaleData;
+import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.api.ScaleRegistries;
+import virtuoel.pehkui.api.ScaleType;
+import virtuoel.pehkui.api.ScaleTypes;
+import virtuoel.pehkui.api.TypedScaleModifier;
+
+/**
+ * Tracks which scale types of an entity currently evaluate to exactly 1, so hooks can skip scale lookups for the unscaled majority of entities.
+ * <p>An entity's summary is a bitmask of its non-identity scale types, recomputed lazily after its scale data changes, or after the config, entity type defaults, or set of scale types change.
+ * Each scale type is given its bit when it is created and keeps it in a field, and scale types past the 63rd share the last bit.
+ * <p>Summaries are published as immutable {@link Result}s, so render and network threads never see a mask paired with the wrong generation.
+ * Invalidating bumps the entity's summary version, so a summary computed while its entity changed is never taken as current.
+ * <p>Modifiers only count as identity if {@link ScaleModifier#preservesIdentity()} says so, so entities with unknown modifiers always take the regular path.
+ */
+public final class ScaleIdentitySummary
+{
+	private static final int OVERFLOW_INDEX = Long.SIZE - 1;
+	
+	private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+	
+	/**
+	 * Never 0, so {@link Result#STALE} always counts as stale.
+	 */
+	private static volatile int generation = 1;
+	
+	static
+	{
+		PehkuiConfigSnapshot.CHANGED.register(ScaleIdentitySummary::invalidateAll);
+	}
+	
+	public static int getGeneration()
+	{
+		return generation;
+	}
+	
+	private static synchronized void invalidateAll()
+	{
+		generation = generation == Integer.MAX_VALUE ? 1 : generation + 1;
+	}
+	
+	/**
+	 * Assigns the bit of a newly created scale type, which it keeps in {@link ScaleType#getIdentityBit()}.
+	 */
+	public static long nextBit()
+	{
+		return 1L << Math.min(NEXT_INDEX.getAndIncrement(), OVERFLOW_INDEX);
+	}
+	
+	/**
+	 * @return Bitmask of the given entity's scale types that may not evaluate to 1
+	 */
+	public static long compute(final Entity entity)
+	{
+		final Map<ScaleType, ScaleData> scales = ((PehkuiEntityExtensions) entity).pehkui_getScales();
+		
+		return compute(
+			Iterables.filter(ScaleRegistries.SCALE_TYPES.values(), type -> type != ScaleTypes.INVALID),
+			scales::get,
+			type -> EntityTypeScaleDefaults.get(type, entity)
+		);
+	}
+	
+	/**
+	 * @param scales Returns an entity's scale data for a type, or null if it has none yet
+	 * @param defaults Returns the entity type's defaults for a type, or null if it has none
+	 */
+	static long compute(final Iterable<ScaleType> types, final Function<ScaleType, ScaleData> scales, final Function<ScaleType, EntityTypeScaleDefaults.Entry> defaults)
+	{
+		long nonIdentity = 0L;
+		long dependent = 0L;
+		
+		ScaleData data;
+		long bit;
+		for (final ScaleType type : types)
+		{
+			data = scales.apply(type);
+			bit = type.getIdentityBit();
+			
+			if (data != null)
+			{
+				if (!isIdentity(data))
+				{
+					nonIdentity |= bit;
+				}
+				
+				if (hasTypedModifier(data.getBaseValueModifiers()))
+				{
+					dependent |= bit;
+				}
+			}
+			else
+			{
+				final EntityTypeScaleDefaults.Entry typeDefaults = defaults.apply(type);
+				final float baseScale = typeDefaults != null ? typeDefaults.getBaseScale() : type.getDefaultBaseScale();
+				
+				if (baseScale != 1.0F || !preservesIdentity(type.getDefaultBaseValueModifiers()) || (typeDefaults != null && !preservesIdentity(typeDefaults.getBaseValueModifiers())))
+				{
+					nonIdentity |= bit;
+				}
+				
+				if (hasTypedModifier(type.getDefaultBaseValueModifiers()) || (typeDefaults != null && hasTypedModifier(typeDefaults.getBaseValueModifiers())))
+				{
+					dependent |= bit;
+				}
+			}
+		}
+		
+		// Types with identity values of their own may still depend on a scaled type through typed modifiers
+		return nonIdentity == 0L ? 0L : nonIdentity | dependent;
+	}
+	
+	private static boolean isIdentity(final ScaleData data)
+	{
+		return data.getBaseScale() == 1.0F &&
+			data.getPrevBaseScale() == 1.0F &&
+			data.getInitialScale() == 1.0F &&
+			data.getTargetScale() == 1.0F &&
+			preservesIdentity(data.getBaseValueModifiers());
+	}
+	
+	private static boolean preservesIdentity(final Collection<ScaleModifier> modifiers)
+	{
+		for (final ScaleModifier modifier : modifiers)
+		{
+			if (!modifier.preservesIdentity())
+			{
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	private static boolean hasTypedModifier(final Collection<ScaleModifier> modifiers)
+	{
+		for (final ScaleModifier modifier : modifiers)
+		{
+			if (modifier instanceof TypedScaleModifier)
+			{
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	public static final class Result
+	{
+		public static final Result STALE = new Result(0L, 0, 0);
+		
+		private final long nonIdentityScales;
+		private final int generation;
+		private final int version;
+		
+		public Result(final long nonIdentityScales, final int generation, final int version)
+		{
+			this.nonIdentityScales = nonIdentityScales;
+			this.generation = generation;
+			this.version = version;
+		}
+		
+		public long getNonIdentityScales()
+		{
+			return nonIdentityScales;
+		}
+		
+		/**
+		 * @return Whether this summary was computed for the given global generation and entity summary version
+		 */
+		public boolean isCurrent(final int generation, final int version)
+		{
+			return this.generation == generation && this.version == version;
+		}
+	}
+	
+	private ScaleIdentitySummary()
+	{
+	
+	}
+}
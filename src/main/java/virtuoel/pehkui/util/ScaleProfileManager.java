@@ -0,0 +1,187 @@
+package virtuoel.pehkui.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
+import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.minecraft.resource.JsonDataLoader;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.profiler.Profiler;
+import virtuoel.pehkui.Pehkui;
+import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.api.ScaleProfile;
+import virtuoel.pehkui.api.ScaleRegistries;
+import virtuoel.pehkui.api.ScaleType;
+
+/**
+ * Holds named {@link ScaleProfile}s, both registered from code and loaded from data packs at {@code data/<namespace>/scale_profiles/<path>.json}.
+ * <p>Each profile file is an object keyed by scale type ID, whose values may contain {@code scale}, {@code delay}, {@code easing}, and {@code modifiers}.
+ * Data pack profiles are reloaded along with the server's other data, such as by {@code /reload}.
+ */
+public class ScaleProfileManager
+{
+	private static final Gson GSON = new Gson();
+	private static final String DATA_TYPE = "scale_profiles";
+	
+	private static final Map<Identifier, ScaleProfile> REGISTERED_PROFILES = new HashMap<>();
+	private static Map<Identifier, ScaleProfile> loadedProfiles = Collections.emptyMap();
+	private static volatile Map<Identifier, ScaleProfile> profiles = Collections.emptyMap();
+	
+	public static synchronized ScaleProfile register(Identifier id, ScaleProfile profile)
+	{
+		REGISTERED_PROFILES.put(id, profile);
+		update();
+		
+		return profile;
+	}
+	
+	public static @Nullable ScaleProfile get(Identifier id)
+	{
+		return profiles.get(id);
+	}
+	
+	public static Set<Identifier> getIds()
+	{
+		return profiles.keySet();
+	}
+	
+	public static void registerReloadListener()
+	{
+		ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new ReloadListener());
+	}
+	
+	private static synchronized void setLoadedProfiles(Map<Identifier, ScaleProfile> loaded)
+	{
+		loadedProfiles = loaded;
+		update();
+	}
+	
+	/**
+	 * Data pack profiles take precedence over profiles registered from code with the same ID.
+	 */
+	private static void update()
+	{
+		final Map<Identifier, ScaleProfile> updated = new HashMap<>(REGISTERED_PROFILES);
+		updated.putAll(loadedProfiles);
+		profiles = Collections.unmodifiableMap(updated);
+	}
+	
+	private static class ReloadListener extends JsonDataLoader implements IdentifiableResourceReloadListener
+	{
+		private static final Identifier ID = Pehkui.id(DATA_TYPE);
+		
+		public ReloadListener()
+		{
+			super(GSON, DATA_TYPE);
+		}
+		
+		@Override
+		public Identifier getFabricId()
+		{
+			return ID;
+		}
+		
+		@Override
+		protected void apply(Map<Identifier, JsonElement> prepared, ResourceManager manager, Profiler profiler)
+		{
+			final Map<Identifier, ScaleProfile> loaded = new HashMap<>();
+			
+			for (final Entry<Identifier, JsonElement> entry : prepared.entrySet())
+			{
+				try
+				{
+					loaded.put(entry.getKey(), parse(entry.getValue().getAsJsonObject()));
+				}
+				catch (JsonParseException | IllegalStateException | ClassCastException e)
+				{
+					Pehkui.LOGGER.warn("Failed to load scale profile \"{}\": {}", entry.getKey(), e.getMessage());
+				}
+			}
+			
+			setLoadedProfiles(loaded);
+		}
+	}
+	
+	private static ScaleProfile parse(@Nullable JsonObject json)
+	{
+		final ScaleProfile.Builder builder = ScaleProfile.Builder.create();
+		
+		if (json == null)
+		{
+			return builder.build();
+		}
+		
+		ScaleType type;
+		JsonObject values;
+		for (final Entry<String, JsonElement> entry : json.entrySet())
+		{
+			type = ScaleRegistries.getEntry(ScaleRegistries.SCALE_TYPES, Identifier.tryParse(entry.getKey()));
+			
+			if (type == null)
+			{
+				throw new JsonParseException("Unknown scale type \"" + entry.getKey() + "\"");
+			}
+			
+			values = entry.getValue().getAsJsonObject();
+			
+			if (values.has("scale"))
+			{
+				builder.scale(type, values.get("scale").getAsFloat());
+			}
+			
+			if (values.has("delay"))
+			{
+				builder.delay(type, values.get("delay").getAsInt());
+			}
+			
+			if (values.has("easing"))
+			{
+				final String easingId = values.get("easing").getAsString();
+				final Float2FloatFunction easing = ScaleRegistries.getEntry(ScaleRegistries.SCALE_EASINGS, Identifier.tryParse(easingId));
+				
+				if (easing == null)
+				{
+					throw new JsonParseException("Unknown scale easing \"" + easingId + "\"");
+				}
+				
+				builder.easing(type, easing);
+			}
+			
+			if (values.has("modifiers"))
+			{
+				for (final JsonElement element : values.getAsJsonArray("modifiers"))
+				{
+					final ScaleModifier modifier = ScaleRegistries.getEntry(ScaleRegistries.SCALE_MODIFIERS, Identifier.tryParse(element.getAsString()));
+					
+					if (modifier == null)
+					{
+						throw new JsonParseException("Unknown scale modifier \"" + element.getAsString() + "\"");
+					}
+					
+					builder.modifier(type, modifier);
+				}
+			}
+		}
+		
+		return builder.build();
+	}
+	
+	private ScaleProfileManager()
+	{
+	
+	}
+}
@@ -26,12 +26,12 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.crash.CrashReportSection;
 import net.minecraft.util.math.Box;
 import virtuoel.pehkui.Pehkui;
-import virtuoel.pehkui.api.PehkuiConfig;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 
 public class ScaleRenderUtils
 {
 	public static final MethodHandle DRAW_BOX_OUTLINE, SHOULD_KEEP_PLAYER_ATTRIBUTES;
-
+	
 	static
 	{
 		final MappingResolver mappingResolver = FabricLoader.getInstance().getMappingResolver();
@@ -134,20 +134,35 @@ public class ScaleRenderUtils
 	{
 		if (scale < 1.0F)
 		{
-			return Math.max(depth * scale, (float) PehkuiConfig.CLIENT.minimumCameraDepth.get().doubleValue());
+			return Math.max(depth * scale, (float) PehkuiConfigSnapshot.get().getMinimumCameraDepth());
 		}
 		
 		return depth;
 	}
 	
 	private static final Set<Item> loggedItems = ConcurrentHashMap.newKeySet();
-	private static ItemStack lastRenderedStack = null;
-	private static int itemRecursionDepth = 0;
-	private static int maxItemRecursionDepth = 2;
+	private static final Set<EntityType<?>> loggedEntityTypes = ConcurrentHashMap.newKeySet();
+	private static final int MAX_RECURSION_DEPTH = 2;
+	
+	/**
+	 * Render tracking state, confined to the thread doing the rendering.
+	 */
+	private static final class RenderState
+	{
+		private ItemStack lastRenderedStack = null;
+		private int itemRecursionDepth = 0;
+		private EntityType<?> lastRenderedEntity = null;
+		private int entityRecursionDepth = 0;
+	}
+	
+	private static final ThreadLocal<RenderState> RENDER_STATE = ThreadLocal.withInitial(RenderState::new);
 	
 	public static void logIfItemRenderCancelled()
 	{
-		if (lastRenderedStack != null && itemRecursionDepth >= maxItemRecursionDepth)
+		final RenderState state = RENDER_STATE.get();
+		final ItemStack lastRenderedStack = state.lastRenderedStack;
+		
+		if (lastRenderedStack != null && state.itemRecursionDepth >= MAX_RECURSION_DEPTH)
 		{
 			final Item i = lastRenderedStack.getItem();
 			if (!loggedItems.contains(i))
@@ -170,28 +185,30 @@ public class ScaleRenderUtils
 	
 	public static void saveLastRenderedItem(final ItemStack currentStack)
 	{
-		if (itemRecursionDepth == 0)
+		final RenderState state = RENDER_STATE.get();
+		
+		if (state.itemRecursionDepth == 0)
 		{
-			lastRenderedStack = currentStack;
+			state.lastRenderedStack = currentStack;
 		}
 		
-		itemRecursionDepth++;
+		state.itemRecursionDepth++;
 	}
 	
 	public static void clearLastRenderedItem()
 	{
-		lastRenderedStack = null;
-		itemRecursionDepth = 0;
+		final RenderState state = RENDER_STATE.get();
+		
+		state.lastRenderedStack = null;
+		state.itemRecursionDepth = 0;
 	}
 	
-	private static final Set<EntityType<?>> loggedEntityTypes = ConcurrentHashMap.newKeySet();
-	private static EntityType<?> lastRenderedEntity = null;
-	private static int entityRecursionDepth = 0;
-	private static int maxEntityRecursionDepth = 2;
-	
 	public static void logIfEntityRenderCancelled()
 	{
-		if (lastRenderedEntity != null && entityRecursionDepth >= maxEntityRecursionDepth)
+		final RenderState state = RENDER_STATE.get();
+		final EntityType<?> lastRenderedEntity = state.lastRenderedEntity;
+		
+		if (lastRenderedEntity != null && state.entityRecursionDepth >= MAX_RECURSION_DEPTH)
 		{
 			if (!loggedEntityTypes.contains(lastRenderedEntity))
 			{
@@ -206,30 +223,36 @@ public class ScaleRenderUtils
 	
 	public static void saveLastRenderedEntity(final EntityType<?> type)
 	{
-		if (entityRecursionDepth == 0)
+		final RenderState state = RENDER_STATE.get();
+		
+		if (state.entityRecursionDepth == 0)
 		{
-			lastRenderedEntity = type;
+			state.lastRenderedEntity = type;
 		}
 		
-		entityRecursionDepth++;
+		state.entityRecursionDepth++;
 	}
 	
 	public static void clearLastRenderedEntity()
 	{
-		lastRenderedEntity = null;
-		entityRecursionDepth = 0;
+		final RenderState state = RENDER_STATE.get();
+		
+		state.lastRenderedEntity = null;
+		state.entityRecursionDepth = 0;
 	}
 	
 	public static void addDetailsToCrashReport(CrashReportSection section)
 	{
-		if (lastRenderedStack != null)
+		final RenderState state = RENDER_STATE.get();
+		
+		if (state.lastRenderedStack != null)
 		{
-			section.add("pehkui:debug/render/item", lastRenderedStack.getItem().getTranslationKey());
+			section.add("pehkui:debug/render/item", state.lastRenderedStack.getItem().getTranslationKey());
 		}
 		
-		if (lastRenderedEntity != null)
+		if (state.lastRenderedEntity != null)
 		{
-			final Identifier id = EntityType.getId(lastRenderedEntity);
+			final Identifier id = EntityType.getId(state.lastRenderedEntity);
 			
 			section.add("pehkui:debug/render/entity", id);
 		}
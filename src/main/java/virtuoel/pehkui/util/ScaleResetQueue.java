@@ -0,0 +1,307 @@
+package virtuoel.pehkui.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtList;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.WorldSavePath;
+import virtuoel.pehkui.Pehkui;
+
+/**
+ * Entities whose scale data should be discarded the next time they are loaded, persisted in the world's data directory.
+ * <p>Checked on every entity NBT read, so an empty queue costs a single field read.
+ */
+public class ScaleResetQueue
+{
+	public static final ScaleResetQueue INSTANCE = new ScaleResetQueue();
+	
+	private static final String FILE_NAME = Pehkui.MOD_ID + "_scale_resets.dat";
+	private static final int SAVE_INTERVAL = 600;
+	
+	private final Set<UUID> uuids = new HashSet<>();
+	private final Set<String> usernames = new HashSet<>();
+	private volatile int pending = 0;
+	private long completed = 0;
+	
+	@Nullable
+	private Path file = null;
+	private boolean dirty = false;
+	private int ticksSinceSave = 0;
+	
+	private ScaleResetQueue()
+	{
+	
+	}
+	
+	public boolean isEmpty()
+	{
+		return pending == 0;
+	}
+	
+	public int getPendingCount()
+	{
+		return pending;
+	}
+	
+	public synchronized int getPendingUuidCount()
+	{
+		return uuids.size();
+	}
+	
+	public synchronized int getPendingUsernameCount()
+	{
+		return usernames.size();
+	}
+	
+	public synchronized long getCompletedCount()
+	{
+		return completed;
+	}
+	
+	public synchronized boolean markUuid(final UUID uuid)
+	{
+		if (uuids.add(uuid))
+		{
+			onChanged();
+			return true;
+		}
+		
+		return false;
+	}
+	
+	public synchronized boolean markUsername(final String username)
+	{
+		if (usernames.add(username.toLowerCase(Locale.ROOT)))
+		{
+			onChanged();
+			return true;
+		}
+		
+		return false;
+	}
+	
+	public synchronized int clear()
+	{
+		final int cleared = pending;
+		
+		uuids.clear();
+		usernames.clear();
+		onChanged();
+		
+		return cleared;
+	}
+	
+	/**
+	 * Removes the given entity from the queue if it was marked.
+	 * 
+	 * @return Whether the entity was marked and its scale data should be discarded
+	 */
+	public boolean unmark(final Entity entity, final NbtCompound nbt)
+	{
+		if (pending == 0)
+		{
+			return false;
+		}
+		
+		synchronized (this)
+		{
+			if (!usernames.isEmpty() && entity instanceof PlayerEntity && usernames.remove(((PlayerEntity) entity).getGameProfile().getName().toLowerCase(Locale.ROOT)))
+			{
+				onCompleted();
+				return true;
+			}
+			
+			if (uuids.isEmpty())
+			{
+				return false;
+			}
+			
+			final NbtCompoundExtensions compound = ((NbtCompoundExtensions) nbt);
+			
+			if (compound.pehkui_containsUuid("UUID") && uuids.remove(compound.pehkui_getUuid("UUID")))
+			{
+				onCompleted();
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	private void onCompleted()
+	{
+		completed++;
+		onChanged();
+	}
+	
+	private void onChanged()
+	{
+		pending = uuids.size() + usernames.size();
+		dirty = true;
+	}
+	
+	public void onServerStarting(final MinecraftServer server)
+	{
+		final Path path = getSavePath(server);
+		
+		synchronized (this)
+		{
+			uuids.clear();
+			usernames.clear();
+			completed = 0;
+			file = path;
+			
+			if (path != null && Files.isRegularFile(path))
+			{
+				try (final InputStream input = Files.newInputStream(path))
+				{
+					final NbtCompound nbt = NbtIo.readCompressed(input);
+					
+					final NbtList uuidList = nbt.getList("uuids", NbtType.STRING);
+					for (int i = 0; i < uuidList.size(); i++)
+					{
+						try
+						{
+							uuids.add(UUID.fromString(uuidList.getString(i)));
+						}
+						catch (IllegalArgumentException e)
+						{
+							Pehkui.LOGGER.warn("Skipping invalid UUID \"{}\" in scale reset queue.", uuidList.getString(i));
+						}
+					}
+					
+					final NbtList usernameList = nbt.getList("usernames", NbtType.STRING);
+					for (int i = 0; i < usernameList.size(); i++)
+					{
+						usernames.add(usernameList.getString(i));
+					}
+					
+					completed = nbt.getLong("completed");
+				}
+				catch (IOException e)
+				{
+					Pehkui.LOGGER.error("Failed to load scale reset queue from \"{}\".", path);
+					Pehkui.LOGGER.catching(e);
+				}
+			}
+			
+			pending = uuids.size() + usernames.size();
+			dirty = false;
+			ticksSinceSave = 0;
+		}
+	}
+	
+	public void onServerTick(final MinecraftServer server)
+	{
+		if (++ticksSinceSave >= SAVE_INTERVAL)
+		{
+			ticksSinceSave = 0;
+			save();
+		}
+	}
+	
+	public void onServerStopped(final MinecraftServer server)
+	{
+		save();
+		
+		synchronized (this)
+		{
+			uuids.clear();
+			usernames.clear();
+			completed = 0;
+			pending = 0;
+			file = null;
+			dirty = false;
+		}
+	}
+	
+	public synchronized void save()
+	{
+		if (!dirty || file == null)
+		{
+			return;
+		}
+		
+		final NbtCompound nbt = new NbtCompound();
+		
+		final NbtList uuidList = new NbtList();
+		for (final UUID uuid : uuids)
+		{
+			uuidList.add(NbtOps.INSTANCE.createString(uuid.toString()));
+		}
+		nbt.put("uuids", uuidList);
+		
+		final NbtList usernameList = new NbtList();
+		for (final String username : usernames)
+		{
+			usernameList.add(NbtOps.INSTANCE.createString(username));
+		}
+		nbt.put("usernames", usernameList);
+		
+		nbt.putLong("completed", completed);
+		
+		try
+		{
+			Files.createDirectories(file.getParent());
+			
+			final Path temp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+			
+			try
+			{
+				try (final OutputStream output = Files.newOutputStream(temp))
+				{
+					NbtIo.writeCompressed(nbt, output);
+				}
+				
+				try
+				{
+					Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				catch (AtomicMoveNotSupportedException e)
+				{
+					Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			finally
+			{
+				Files.deleteIfExists(temp);
+			}
+			
+			dirty = false;
+		}
+		catch (IOException e)
+		{
+			Pehkui.LOGGER.error("Failed to save scale reset queue to \"{}\".", file);
+			Pehkui.LOGGER.catching(e);
+		}
+	}
+	
+	@Nullable
+	private static Path getSavePath(final MinecraftServer server)
+	{
+		if (VersionUtils.MINOR >= 16)
+		{
+			return server.getSavePath(WorldSavePath.ROOT).resolve("data").resolve(FILE_NAME).normalize();
+		}
+		
+		return null;
+	}
+}
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.SortedSet;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -11,6 +12,7 @@ import java.util.function.Supplier;
 
 import io.netty.buffer.Unpooled;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityDimensions;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.nbt.NbtList;
@@ -18,12 +20,14 @@ import net.minecraft.nbt.NbtOps;
 import net.minecraft.network.Packet;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.network.packet.s2c.play.CustomPayloadS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.MathHelper;
 import virtuoel.pehkui.Pehkui;
-import virtuoel.pehkui.api.PehkuiConfig;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
 import virtuoel.pehkui.api.ScaleData;
 import virtuoel.pehkui.api.ScaleModifier;
 import virtuoel.pehkui.api.ScaleRegistries;
@@ -61,13 +65,15 @@ public class ScaleUtils
 	
 	public static void loadScaleOnRespawn(Entity target, Entity source, boolean alive)
 	{
-		if (alive || PehkuiConfig.COMMON.keepAllScalesOnRespawn.get())
+		final PehkuiConfigSnapshot config = PehkuiConfigSnapshot.get();
+		
+		if (alive || config.keepAllScalesOnRespawn())
 		{
 			loadScale(target, source);
 			return;
 		}
 		
-		final List<? extends String> keptScales = PehkuiConfig.COMMON.scalesKeptOnRespawn.get();
+		final Set<ScaleType> keptScales = config.getScalesKeptOnRespawn();
 		
 		ScaleType type;
 		ScaleData sourceData;
@@ -78,7 +84,7 @@ public class ScaleUtils
 			type = entry.getValue();
 			sourceData = type.getScaleData(source);
 			
-			if (sourceData.shouldPersist() || keptScales.contains(entry.getKey().toString()))
+			if (sourceData.shouldPersist() || keptScales.contains(type))
 			{
 				targetData = type.getScaleData(target);
 				targetData.fromScale(sourceData);
@@ -204,6 +210,94 @@ public class ScaleUtils
 		return scaleData;
 	}
 	
+	/**
+	 * Angle in radians below which movement is assumed to be unnoticeable, which is roughly one pixel at the default field of view and a 1080p screen.
+	 */
+	private static final double UNNOTICEABLE_ANGLE = 1.0E-3D;
+	
+	/**
+	 * Entities with a motion scale below 1 sync proportionally smaller movements, but only down to what their nearest viewer could notice.
+	 * That depends on the viewer's distance and on how large and visible the entity is, going by its model and visibility scales.
+	 * Movement of entities too small to be seen at all is synced with vanilla's precision.
+	 * 
+	 * @param threshold Vanilla's minimum squared distance moved before a position update is sent
+	 * @return The minimum squared distance for the given entity
+	 */
+	public static double getPositionSyncThreshold(Entity entity, double threshold)
+	{
+		final double scale = getMotionScale(entity);
+		
+		if (scale >= 1.0D)
+		{
+			return threshold;
+		}
+		
+		final PlayerEntity viewer = entity.world.getClosestPlayer(entity, -1.0D);
+		
+		if (viewer == null)
+		{
+			return threshold;
+		}
+		
+		final double distance = Math.max(Math.sqrt(viewer.squaredDistanceTo(entity)), 1.0D);
+		final EntityDimensions dimensions = entity.getType().getDimensions();
+		final double size = Math.max(dimensions.width * getModelWidthScale(entity), dimensions.height * getModelHeightScale(entity));
+		final double visibility = MathHelper.clamp(getVisibilityScale(entity), 1.0E-3F, 1.0F);
+		
+		if (size * visibility / distance < UNNOTICEABLE_ANGLE)
+		{
+			return threshold;
+		}
+		
+		final double noticeable = distance * UNNOTICEABLE_ANGLE / visibility;
+		
+		return Math.min(threshold, Math.max(threshold * scale * scale, noticeable * noticeable));
+	}
+	
+	/**
+	 * Scales an entity's tracking distance by its model and visibility scales, within the configured bounds.
+	 * <p>Entities that a player only tracks because of an extended range count against that player's {@link ExtendedTrackingBudget}.
+	 * 
+	 * Unscaled entities keep the vanilla distance without touching the budget.
+	 * 
+	 * @param distance Vanilla tracking distance, already capped by the view distance
+	 */
+	public static double getTrackingDistance(Entity entity, ServerPlayerEntity player, double distance)
+	{
+		if (isUnscaled(entity))
+		{
+			return distance;
+		}
+		
+		final double size = Math.max(getModelWidthScale(entity), getModelHeightScale(entity)) * getVisibilityScale(entity);
+		final PehkuiConfigSnapshot config = PehkuiConfigSnapshot.get();
+		final double multiplier = MathHelper.clamp(size, config.getTrackingRangeMinimumScale(), config.getTrackingRangeMaximumScale());
+		
+		final ExtendedTrackingBudget budget = ((PehkuiServerPlayerExtensions) player).pehkui_getExtendedTrackingBudget();
+		
+		if (multiplier <= 1.0D)
+		{
+			budget.release(entity);
+			return distance * multiplier;
+		}
+		
+		final double extended = distance * multiplier;
+		final double dx = player.getX() - entity.getX();
+		final double dz = player.getZ() - entity.getZ();
+		final double squaredDistance = dx * dx + dz * dz;
+		
+		if (squaredDistance <= distance * distance || squaredDistance > extended * extended)
+		{
+			budget.release(entity);
+			return distance;
+		}
+		
+		final EntityDimensions dimensions = entity.getType().getDimensions();
+		final double apparentSize = Math.max(dimensions.width * getModelWidthScale(entity), dimensions.height * getModelHeightScale(entity)) * getVisibilityScale(entity) / Math.sqrt(squaredDistance);
+		
+		return budget.admit(entity, apparentSize, config.getExtendedTrackingLimit()) ? extended : distance;
+	}
+	
 	public static void syncScalesIfNeeded(Entity entity, Consumer<Packet<?>> packetSender)
 	{
 		if (((PehkuiEntityExtensions) entity).pehkui_shouldSyncScales())
@@ -401,6 +495,14 @@ public class ScaleUtils
 		return getTypedScale(entity, ScaleTypes.INTERACTION_BOX_HEIGHT, tickDelta);
 	}
 	
+	/**
+	 * @return The entity's bounding box expanded by its interaction box scales, cached until its bounding box or scales change
+	 */
+	public static Box getInteractionBox(Entity entity)
+	{
+		return isUnscaled(entity) ? entity.getBoundingBox() : ((PehkuiEntityExtensions) entity).pehkui_getInteractionBox();
+	}
+	
 	public static float getFallingScale(Entity entity)
 	{
 		return getFallingScale(entity, 1.0F);
@@ -458,7 +560,7 @@ public class ScaleUtils
 	
 	public static float getMotionScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.MOTION, PehkuiConfig.COMMON.scaledMotion::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.MOTION, PehkuiConfigSnapshot.get().scaledMotion(), tickDelta);
 	}
 	
 	public static float getFlightScale(Entity entity)
@@ -478,7 +580,7 @@ public class ScaleUtils
 	
 	public static float getBlockReachScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.BLOCK_REACH, PehkuiConfig.COMMON.scaledReach::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.BLOCK_REACH, PehkuiConfigSnapshot.get().scaledReach(), tickDelta);
 	}
 	
 	public static float getEntityReachScale(Entity entity)
@@ -488,7 +590,7 @@ public class ScaleUtils
 	
 	public static float getEntityReachScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.ENTITY_REACH, PehkuiConfig.COMMON.scaledReach::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.ENTITY_REACH, PehkuiConfigSnapshot.get().scaledReach(), tickDelta);
 	}
 	
 	public static float getMiningSpeedScale(Entity entity)
@@ -528,7 +630,7 @@ public class ScaleUtils
 	
 	public static float getAttackScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.ATTACK, PehkuiConfig.COMMON.scaledAttack::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.ATTACK, PehkuiConfigSnapshot.get().scaledAttack(), tickDelta);
 	}
 	
 	public static float getDefenseScale(Entity entity)
@@ -538,7 +640,7 @@ public class ScaleUtils
 	
 	public static float getDefenseScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.DEFENSE, PehkuiConfig.COMMON.scaledDefense::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.DEFENSE, PehkuiConfigSnapshot.get().scaledDefense(), tickDelta);
 	}
 	
 	public static float getHealthScale(Entity entity)
@@ -548,7 +650,7 @@ public class ScaleUtils
 	
 	public static float getHealthScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.HEALTH, PehkuiConfig.COMMON.scaledHealth::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.HEALTH, PehkuiConfigSnapshot.get().scaledHealth(), tickDelta);
 	}
 	
 	public static float getDropScale(Entity entity)
@@ -558,7 +660,7 @@ public class ScaleUtils
 	
 	public static float getDropScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.DROPS, PehkuiConfig.COMMON.scaledItemDrops::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.DROPS, PehkuiConfigSnapshot.get().scaledItemDrops(), tickDelta);
 	}
 	
 	public static float getHeldItemScale(Entity entity)
@@ -578,7 +680,7 @@ public class ScaleUtils
 	
 	public static float getProjectileScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.PROJECTILES, PehkuiConfig.COMMON.scaledProjectiles::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.PROJECTILES, PehkuiConfigSnapshot.get().scaledProjectiles(), tickDelta);
 	}
 	
 	public static float getExplosionScale(Entity entity)
@@ -588,16 +690,47 @@ public class ScaleUtils
 	
 	public static float getExplosionScale(Entity entity, float tickDelta)
 	{
-		return getConfigurableTypedScale(entity, ScaleTypes.EXPLOSIONS, PehkuiConfig.COMMON.scaledExplosions::get, tickDelta);
+		return getConfigurableTypedScale(entity, ScaleTypes.EXPLOSIONS, PehkuiConfigSnapshot.get().scaledExplosions(), tickDelta);
 	}
 	
 	public static float getConfigurableTypedScale(Entity entity, ScaleType type, Supplier<Boolean> config, float tickDelta)
 	{
-		return config.get() ? getTypedScale(entity, type, tickDelta) : type.getDefaultBaseScale();
+		return getConfigurableTypedScale(entity, type, config.get(), tickDelta);
+	}
+	
+	public static float getConfigurableTypedScale(Entity entity, ScaleType type, boolean enabled, float tickDelta)
+	{
+		return enabled ? getTypedScale(entity, type, tickDelta) : type.getDefaultBaseScale();
 	}
 	
 	public static float getTypedScale(Entity entity, ScaleType type, float tickDelta)
 	{
-		return entity == null ? type.getDefaultBaseScale() : type.getScaleData(entity).getScale(tickDelta);
+		if (entity == null)
+		{
+			return type.getDefaultBaseScale();
+		}
+		
+		return isUnscaled(entity, type) ? 1.0F : type.getScaleData(entity).getScale(tickDelta);
+	}
+	
+	/**
+	 * Checks whether every scale type of the given entity currently evaluates to 1, which is the case for most entities.
+	 * <p>Hooks can test this first to skip scale lookups entirely.
+	 * 
+	 * @return true if the entity has no effective scaling
+	 */
+	public static boolean isUnscaled(Entity entity)
+	{
+		return ((PehkuiEntityExtensions) entity).pehkui_getNonIdentityScales() == 0L;
+	}
+	
+	/**
+	 * @return true if the given scale type of the given entity currently evaluates to 1
+	 */
+	public static boolean isUnscaled(Entity entity, ScaleType type)
+	{
+		final long nonIdentity = ((PehkuiEntityExtensions) entity).pehkui_getNonIdentityScales();
+		
+		return nonIdentity == 0L || (nonIdentity & type.getIdentityBit()) == 0L;
 	}
 }
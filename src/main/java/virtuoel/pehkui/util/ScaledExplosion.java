@@ -0,0 +1,232 @@
+package virtuoel.pehkui.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.mojang.datafixers.util.Pair;
+
+import it.unimi.dsi.fastutil.floats.FloatArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+import net.minecraft.world.explosion.Explosion;
+import net.minecraft.world.explosion.ExplosionBehavior;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+
+/**
+ * Block destruction of a scaled explosion, spread over several ticks.
+ * <p>The explosion's rays are marched a few at a time, with the same strengths and steps as vanilla, and the collected blocks are then destroyed in batches through {@link Explosion#affectWorld(boolean)}.
+ * The blocks are shuffled once for the whole explosion, and item drops of all batches are merged and dropped together once the last batch is done, as vanilla does for a single call.
+ * Entity damage is not deferred, and happens as soon as the explosion is created.
+ */
+public class ScaledExplosion
+{
+	private static final int BATCH_SIZE = 64;
+	private static final double STEP = (double) 0.3F;
+	private static final int[][] RAYS;
+	
+	static
+	{
+		final List<int[]> rays = new ArrayList<>();
+		
+		for (int j = 0; j < 16; j++)
+		{
+			for (int k = 0; k < 16; k++)
+			{
+				for (int l = 0; l < 16; l++)
+				{
+					if (j == 0 || j == 15 || k == 0 || k == 15 || l == 0 || l == 15)
+					{
+						rays.add(new int[] { j, k, l });
+					}
+				}
+			}
+		}
+		
+		RAYS = rays.toArray(new int[0][]);
+	}
+	
+	private final Explosion explosion;
+	private final World world;
+	private final ExplosionBehavior behavior;
+	private final Vec3d origin;
+	private final FloatArrayList rayStrengths = new FloatArrayList();
+	private final LongLinkedOpenHashSet collected = new LongLinkedOpenHashSet();
+	
+	private int ray = 0;
+	private List<BlockPos> affected = null;
+	private int applied = 0;
+	private final ObjectArrayList<Pair<ItemStack, BlockPos>> drops = new ObjectArrayList<>();
+	
+	public ScaledExplosion(Explosion explosion, World world, ExplosionBehavior behavior, Vec3d origin)
+	{
+		this.explosion = explosion;
+		this.world = world;
+		this.behavior = behavior;
+		this.origin = origin;
+	}
+	
+	public static boolean shouldDefer(World world, float power)
+	{
+		final double minimumPower = PehkuiConfigSnapshot.get().getDeferredExplosionMinimumPower();
+		
+		return !world.isClient && minimumPower > 0.0D && power >= minimumPower;
+	}
+	
+	/**
+	 * Records the strength vanilla rolled for the next ray, in the order vanilla iterates them.
+	 */
+	public void addRay(float strength)
+	{
+		if (rayStrengths.size() < RAYS.length)
+		{
+			rayStrengths.add(strength);
+		}
+	}
+	
+	/**
+	 * Continues this explosion until it is done or the given time is reached.
+	 * 
+	 * @param deadline Value of {@link System#nanoTime()} to stop at
+	 * @return Whether the explosion is done
+	 */
+	public boolean tick(final long deadline)
+	{
+		while (ray < rayStrengths.size())
+		{
+			castRay(ray, rayStrengths.getFloat(ray));
+			ray++;
+			
+			if (System.nanoTime() >= deadline)
+			{
+				return false;
+			}
+		}
+		
+		if (affected == null)
+		{
+			affected = new ArrayList<>(collected.size());
+			
+			final LongIterator iterator = collected.iterator();
+			while (iterator.hasNext())
+			{
+				affected.add(BlockPos.fromLong(iterator.nextLong()));
+			}
+			
+			Collections.shuffle(affected, ThreadLocalRandom.current());
+		}
+		
+		final List<BlockPos> batch = explosion.getAffectedBlocks();
+		final PehkuiExplosionExtensions extensions = (PehkuiExplosionExtensions) explosion;
+		
+		while (applied < affected.size())
+		{
+			final int end = Math.min(applied + BATCH_SIZE, affected.size());
+			
+			batch.clear();
+			batch.addAll(affected.subList(applied, end));
+			extensions.pehkui_setDropCollector(drops);
+			
+			try
+			{
+				explosion.affectWorld(false);
+			}
+			finally
+			{
+				extensions.pehkui_setDropCollector(null);
+				batch.clear();
+			}
+			
+			applied = end;
+			
+			if (System.nanoTime() >= deadline)
+			{
+				break;
+			}
+		}
+		
+		if (applied < affected.size())
+		{
+			return false;
+		}
+		
+		for (final Pair<ItemStack, BlockPos> drop : drops)
+		{
+			Block.dropStack(world, drop.getSecond(), drop.getFirst());
+		}
+		
+		drops.clear();
+		
+		return true;
+	}
+	
+	private void castRay(final int index, float strength)
+	{
+		final int[] shell = RAYS[index];
+		
+		double dx = shell[0] / 15.0F * 2.0F - 1.0F;
+		double dy = shell[1] / 15.0F * 2.0F - 1.0F;
+		double dz = shell[2] / 15.0F * 2.0F - 1.0F;
+		final double length = Math.sqrt(dx * dx + dy * dy + dz * dz);
+		dx /= length;
+		dy /= length;
+		dz /= length;
+		
+		double x = origin.x;
+		double y = origin.y;
+		double z = origin.z;
+		
+		BlockPos pos;
+		BlockState state;
+		FluidState fluid;
+		Optional<Float> resistance;
+		while (strength > 0.0F)
+		{
+			pos = new BlockPos(MathHelper.floor(x), MathHelper.floor(y), MathHelper.floor(z));
+			
+			if (!isInBuildLimit(pos))
+			{
+				break;
+			}
+			
+			state = world.getBlockState(pos);
+			fluid = world.getFluidState(pos);
+			resistance = behavior.getBlastResistance(explosion, world, pos, state, fluid);
+			
+			if (resistance.isPresent())
+			{
+				strength -= (resistance.get() + 0.3F) * 0.3F;
+			}
+			
+			if (strength > 0.0F && behavior.canDestroyBlock(explosion, world, pos, state, strength))
+			{
+				collected.add(pos.asLong());
+			}
+			
+			x += dx * STEP;
+			y += dy * STEP;
+			z += dz * STEP;
+			strength -= 0.22500001F;
+		}
+	}
+	
+	private boolean isInBuildLimit(BlockPos pos)
+	{
+		final int bottom = VersionUtils.MINOR >= 17 ? world.getBottomY() : 0;
+		final int top = VersionUtils.MINOR >= 17 ? world.getTopY() : 256;
+		
+		return pos.getY() >= bottom && pos.getY() < top &&
+			pos.getX() >= -30000000 && pos.getZ() >= -30000000 && pos.getX() < 30000000 && pos.getZ() < 30000000;
+	}
+}
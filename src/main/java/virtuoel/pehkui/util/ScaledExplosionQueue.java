@@ -0,0 +1,74 @@
+package virtuoel.pehkui.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.world.ServerWorld;
+import virtuoel.pehkui.api.PehkuiConfigSnapshot;
+
+/**
+ * Runs a world's {@link ScaledExplosion}s in order, within a per-tick time budget.
+ * <p>Explosions are not saved with the world, so any still queued are finished when the server stops, before worlds are saved.
+ */
+public class ScaledExplosionQueue
+{
+	private final Deque<ScaledExplosion> explosions = new ArrayDeque<>();
+	
+	public void add(ScaledExplosion explosion)
+	{
+		explosions.add(explosion);
+	}
+	
+	public boolean isEmpty()
+	{
+		return explosions.isEmpty();
+	}
+	
+	public void tick()
+	{
+		if (explosions.isEmpty())
+		{
+			return;
+		}
+		
+		final long budget = (long) (PehkuiConfigSnapshot.get().getDeferredExplosionTickBudget() * 1000000.0D);
+		final long deadline = System.nanoTime() + Math.max(budget, 0L);
+		
+		ScaledExplosion explosion;
+		while ((explosion = explosions.peek()) != null)
+		{
+			if (!explosion.tick(deadline))
+			{
+				break;
+			}
+			
+			explosions.poll();
+			
+			if (System.nanoTime() >= deadline)
+			{
+				break;
+			}
+		}
+	}
+	
+	/**
+	 * Finishes every queued explosion, regardless of the time budget.
+	 */
+	public void drain()
+	{
+		ScaledExplosion explosion;
+		while ((explosion = explosions.poll()) != null)
+		{
+			explosion.tick(Long.MAX_VALUE);
+		}
+	}
+	
+	public static void onServerStopping(final MinecraftServer server)
+	{
+		for (final ServerWorld world : server.getWorlds())
+		{
+			((PehkuiWorldExtensions) world).pehkui_getScaledExplosions().drain();
+		}
+	}
+}
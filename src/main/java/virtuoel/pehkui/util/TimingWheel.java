@@ -0,0 +1,251 @@
+package virtuoel.pehkui.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Hierarchical timing wheel with one-tick resolution.
+ * <p>Scheduling and cancelling are O(1), and advancing a tick only visits the timers due on that tick, plus an occasional cascade of a coarser bucket into the finer levels.
+ * Timers may be scheduled or cancelled from {@link Timer#onExpired(TimingWheel)}.
+ * <p>Scheduling and cancelling are synchronized, since entities may be deserialized off the thread that advances the wheel.
+ * Expired timers are notified after the wheel's lock is released.
+ */
+public class TimingWheel
+{
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+	
+	private final Timer[][] buckets = new Timer[LEVELS][SLOTS];
+	private long currentTick = 0;
+	private int size = 0;
+	
+	public synchronized long getCurrentTick()
+	{
+		return currentTick;
+	}
+	
+	public synchronized int size()
+	{
+		return size;
+	}
+	
+	/**
+	 * Schedules the given timer to expire after the given amount of ticks, rescheduling it if it was already scheduled.
+	 * <p>A timer scheduled on another wheel is moved to this one. It is cancelled there before this wheel's lock is taken, so timers moving between wheels in opposite directions can't deadlock.
+	 * 
+	 * @param timer Timer to schedule
+	 * @param delay Delay in ticks. Values below 1 expire on the next tick.
+	 */
+	public void schedule(Timer timer, long delay)
+	{
+		final TimingWheel previous = timer.wheel;
+		
+		if (previous != null && previous != this)
+		{
+			previous.cancel(timer);
+		}
+		
+		synchronized (this)
+		{
+			if (timer.wheel == this)
+			{
+				unlink(timer);
+				size--;
+			}
+			
+			timer.expiry = currentTick + Math.max(1L, delay);
+			timer.wheel = this;
+			size++;
+			insert(timer);
+		}
+	}
+	
+	public synchronized void cancel(Timer timer)
+	{
+		if (timer.wheel != this)
+		{
+			return;
+		}
+		
+		unlink(timer);
+		timer.wheel = null;
+		size--;
+	}
+	
+	/**
+	 * Advances the wheel by one tick and expires every timer due on it.
+	 */
+	public void tick()
+	{
+		final List<Timer> expired = advance();
+		
+		if (expired != null)
+		{
+			for (final Timer timer : expired)
+			{
+				timer.onExpired(this);
+			}
+		}
+	}
+	
+	private synchronized @Nullable List<Timer> advance()
+	{
+		final long tick = ++currentTick;
+		
+		if (size == 0)
+		{
+			return null;
+		}
+		
+		final int slot = (int) (tick & SLOT_MASK);
+		
+		if (slot == 0)
+		{
+			cascade(1, tick);
+		}
+		
+		List<Timer> expired = null;
+		
+		Timer timer;
+		while ((timer = buckets[0][slot]) != null)
+		{
+			unlink(timer);
+			
+			if (timer.expiry <= tick)
+			{
+				timer.wheel = null;
+				size--;
+				
+				if (expired == null)
+				{
+					expired = new ArrayList<>();
+				}
+				
+				expired.add(timer);
+			}
+			else
+			{
+				insert(timer);
+			}
+		}
+		
+		return expired;
+	}
+	
+	private void cascade(final int level, final long tick)
+	{
+		if (level >= LEVELS)
+		{
+			return;
+		}
+		
+		final int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+		
+		if (slot == 0)
+		{
+			cascade(level + 1, tick);
+		}
+		
+		Timer timer;
+		while ((timer = buckets[level][slot]) != null)
+		{
+			unlink(timer);
+			insert(timer);
+		}
+	}
+	
+	private void insert(final Timer timer)
+	{
+		final long delay = Math.min(Math.max(timer.expiry - currentTick, 0L), MAX_DELAY);
+		final long target = currentTick + delay;
+		
+		int level = 0;
+		while (level < LEVELS - 1 && delay >= (1L << (SLOT_BITS * (level + 1))))
+		{
+			level++;
+		}
+		
+		final int slot = (int) ((target >>> (SLOT_BITS * level)) & SLOT_MASK);
+		
+		final Timer head = buckets[level][slot];
+		timer.level = level;
+		timer.slot = slot;
+		timer.prev = null;
+		timer.next = head;
+		
+		if (head != null)
+		{
+			head.prev = timer;
+		}
+		
+		buckets[level][slot] = timer;
+	}
+	
+	private void unlink(final Timer timer)
+	{
+		if (timer.prev != null)
+		{
+			timer.prev.next = timer.next;
+		}
+		else if (buckets[timer.level][timer.slot] == timer)
+		{
+			buckets[timer.level][timer.slot] = timer.next;
+		}
+		
+		if (timer.next != null)
+		{
+			timer.next.prev = timer.prev;
+		}
+		
+		timer.prev = timer.next = null;
+	}
+	
+	public static abstract class Timer
+	{
+		private volatile TimingWheel wheel = null;
+		private Timer prev = null;
+		private Timer next = null;
+		private long expiry = 0;
+		private int level = 0;
+		private int slot = 0;
+		
+		public boolean isScheduled()
+		{
+			return wheel != null;
+		}
+		
+		public boolean isScheduledOn(TimingWheel wheel)
+		{
+			return this.wheel == wheel;
+		}
+		
+		public void cancel()
+		{
+			final TimingWheel w = wheel;
+			
+			if (w != null)
+			{
+				w.cancel(this);
+			}
+		}
+		
+		/**
+		 * @return Ticks left until this timer expires, or 0 if it is not scheduled
+		 */
+		public long getRemainingTicks()
+		{
+			final TimingWheel w = wheel;
+			return w == null ? 0 : Math.max(expiry - w.getCurrentTick(), 0L);
+		}
+		
+		/**
+		 * @param wheel The wheel this timer expired on
+		 */
+		protected abstract void onExpired(TimingWheel wheel);
+	}
+}
@@ -2,8 +2,5 @@ package virtuoel.pehkui.util;
 
 public interface ViewerCountingBlockEntityExtensions
 {
-	default float pehkui_getViewerSearchRange()
-	{
-		return 5.0F;
-	}
+	ContainerViewers pehkui_getViewers();
 }
@@ -0,0 +1,26 @@
+package virtuoel.pehkui.util;
+
+/**
+ * {@link PublishedReference} using a volatile field, for runtimes older than Java 17.
+ */
+final class VolatilePublishedReference<V> extends PublishedReference<V>
+{
+	private volatile V value;
+	
+	VolatilePublishedReference(V initialValue)
+	{
+		this.value = initialValue;
+	}
+	
+	@Override
+	public V get()
+	{
+		return value;
+	}
+	
+	@Override
+	public void set(V value)
+	{
+		this.value = value;
+	}
+}
@@ -0,0 +1,54 @@
+package virtuoel.pehkui.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * {@link PublishedReference} using a {@link VarHandle} instead of a volatile field, so publishing does not need a full fence.
+ * <p>Only loaded by name on Java 17 and newer, through {@link Factory}.
+ */
+final class VarHandlePublishedReference<V> extends PublishedReference<V>
+{
+	private static final VarHandle VALUE;
+	
+	static
+	{
+		try
+		{
+			VALUE = MethodHandles.lookup().findVarHandle(VarHandlePublishedReference.class, "value", Object.class);
+		}
+		catch (ReflectiveOperationException e)
+		{
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+	
+	private V value;
+	
+	VarHandlePublishedReference(V initialValue)
+	{
+		VALUE.setRelease(this, initialValue);
+	}
+	
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get()
+	{
+		return (V) VALUE.getAcquire(this);
+	}
+	
+	@Override
+	public void set(V value)
+	{
+		VALUE.setRelease(this, value);
+	}
+	
+	static final class Factory implements PublishedReference.Factory
+	{
+		@Override
+		public <T> PublishedReference<T> create(T initialValue)
+		{
+			return new VarHandlePublishedReference<>(initialValue);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package virtuoel.pehkui.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectArrayMap;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.Identifier;
+
+public class ScaleDataTest
+{
+	private final ScaleType type = ScaleType.Builder.create().build();
+	
+	@Test
+	public void unregisteredModifiersAreNotSaved() throws ReflectiveOperationException
+	{
+		final ScaleData data = ScaleData.Builder.create().type(type).build();
+		final ScaleModifier modifier = new ScaleModifier();
+		
+		data.getBaseValueModifiers().add(modifier);
+		putTimer(data, modifier);
+		
+		final NbtCompound tag = data.writeNbt(new NbtCompound());
+		
+		assertFalse(tag.contains("baseValueModifiers"));
+		assertFalse(tag.contains("timedModifiers"));
+	}
+	
+	@Test
+	public void registeredTimedModifiersAreSaved() throws ReflectiveOperationException
+	{
+		final ScaleData data = ScaleData.Builder.create().type(type).build();
+		final ScaleModifier registered = ScaleRegistries.register(ScaleRegistries.SCALE_MODIFIERS, new Identifier("pehkui_test", "timed"), new ScaleModifier(1.0F));
+		final ScaleModifier unregistered = new ScaleModifier(2.0F);
+		
+		data.getBaseValueModifiers().add(registered);
+		data.getBaseValueModifiers().add(unregistered);
+		putTimer(data, registered);
+		putTimer(data, unregistered);
+		
+		final NbtCompound tag = data.writeNbt(new NbtCompound());
+		
+		assertEquals(1, tag.getList("baseValueModifiers", NbtType.STRING).size());
+		assertEquals(1, tag.getList("timedModifiers", NbtType.COMPOUND).size());
+		assertEquals("pehkui_test:timed", tag.getList("timedModifiers", NbtType.COMPOUND).getCompound(0).getString("id"));
+	}
+	
+	/**
+	 * Timed modifiers are only scheduled for entities in server worlds, so the timer is added directly.
+	 */
+	@SuppressWarnings("unchecked")
+	private static void putTimer(final ScaleData data, final ScaleModifier modifier) throws ReflectiveOperationException
+	{
+		final Field field = ScaleData.class.getDeclaredField("timedModifiers");
+		field.setAccessible(true);
+		
+		Map<ScaleModifier, Object> timers = (Map<ScaleModifier, Object>) field.get(data);
+		if (timers == null)
+		{
+			field.set(data, timers = new Object2ObjectArrayMap<>());
+		}
+		
+		final Constructor<?> constructor = Class.forName("virtuoel.pehkui.api.ScaleData$TimedModifier").getDeclaredConstructor(ScaleData.class, ScaleModifier.class);
+		constructor.setAccessible(true);
+		timers.put(modifier, constructor.newInstance(data, modifier));
+	}
+}
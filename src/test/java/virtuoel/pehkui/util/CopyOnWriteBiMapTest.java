@@ -0,0 +1,106 @@
+package virtuoel.pehkui.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.BiMap;
+
+public class CopyOnWriteBiMapTest
+{
+	@Test
+	public void readsReflectWrites()
+	{
+		final BiMap<String, Integer> map = new CopyOnWriteBiMap<>();
+		
+		assertNull(map.put("a", 1));
+		assertEquals(1, map.put("a", 2));
+		map.putAll(Collections.singletonMap("b", 3));
+		
+		assertEquals(2, map.get("a"));
+		assertEquals("b", map.inverse().get(3));
+		assertEquals(2, map.size());
+		
+		assertEquals(2, map.remove("a"));
+		assertFalse(map.containsKey("a"));
+		
+		map.clear();
+		assertTrue(map.isEmpty());
+	}
+	
+	@Test
+	public void duplicateValuesAreRejectedWithoutChangingContents()
+	{
+		final BiMap<String, Integer> map = new CopyOnWriteBiMap<>();
+		map.put("a", 1);
+		
+		assertThrows(IllegalArgumentException.class, () -> map.put("b", 1));
+		assertEquals(Collections.singletonMap("a", 1), map);
+		
+		map.forcePut("b", 1);
+		assertEquals(Collections.singletonMap("b", 1), map);
+	}
+	
+	@Test
+	public void viewsAreSnapshots()
+	{
+		final BiMap<String, Integer> map = new CopyOnWriteBiMap<>();
+		map.put("a", 1);
+		
+		final Set<String> keys = map.keySet();
+		map.put("b", 2);
+		
+		assertEquals(Collections.singleton("a"), keys);
+		assertEquals(2, map.keySet().size());
+		assertThrows(UnsupportedOperationException.class, () -> keys.remove("a"));
+	}
+	
+	@Test
+	public void computeIfAbsentKeepsExistingEntries()
+	{
+		final BiMap<String, Integer> map = new CopyOnWriteBiMap<>();
+		
+		assertEquals(1, map.computeIfAbsent("a", k -> 1));
+		assertEquals(1, map.computeIfAbsent("a", k -> 2));
+		assertEquals(1, map.putIfAbsent("a", 3));
+		assertNull(map.putIfAbsent("b", 4));
+		assertEquals(4, map.get("b"));
+	}
+	
+	@Test
+	public void concurrentReadersSeeConsistentSnapshots() throws InterruptedException
+	{
+		final BiMap<Integer, Integer> map = new CopyOnWriteBiMap<>();
+		final int count = 2000;
+		
+		final Thread writer = new Thread(() ->
+		{
+			for (int i = 0; i < count; i++)
+			{
+				map.put(i, -i);
+			}
+		});
+		
+		writer.start();
+		
+		while (writer.isAlive())
+		{
+			for (final Map.Entry<Integer, Integer> entry : map.entrySet())
+			{
+				assertEquals(-entry.getKey(), entry.getValue());
+			}
+		}
+		
+		writer.join();
+		assertEquals(count, map.size());
+		assertEquals(count, map.inverse().size());
+	}
+}
@@ -0,0 +1,139 @@
+package virtuoel.pehkui.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Vec3d;
+
+public class EntityRaycastUtilsTest
+{
+	private static final Vec3d START = new Vec3d(0.5D, 8.5D, 8.5D);
+	private static final Vec3d END = new Vec3d(100.5D, 8.5D, 8.5D);
+	private static final Box SEARCH_BOX = new Box(START, END).expand(1.0D);
+	
+	@Test
+	public void findsTargetsWhoseRaycastBoxReachesBackIntoTheHitSection()
+	{
+		// Hit just before the ray leaves the section ending at x = 32
+		final Target near = new Target(new Box(31.8D, 8.0D, 8.0D, 32.5D, 9.0D, 9.0D));
+		// Bounding box in the next section, but its ray cast box is hit earlier than the first target
+		final Target reaching = new Target(new Box(33.8D, 8.0D, 8.0D, 34.3D, 9.0D, 9.0D), new Box(31.6D, 8.0D, 8.0D, 36.5D, 9.0D, 9.0D));
+		
+		final List<Target> found = walk(near, reaching);
+		
+		assertTrue(found.contains(near));
+		assertTrue(found.contains(reaching));
+		assertSame(reaching, closest(found));
+	}
+	
+	@Test
+	public void matchesSearchingTheWholeBox()
+	{
+		final List<Target> targets = Arrays.asList(
+			new Target(new Box(70.0D, 8.0D, 8.0D, 71.0D, 9.0D, 9.0D)),
+			new Target(new Box(47.5D, 8.0D, 8.0D, 48.2D, 9.0D, 9.0D), new Box(45.0D, 8.0D, 8.0D, 50.0D, 9.0D, 9.0D)),
+			new Target(new Box(50.5D, 8.0D, 8.0D, 51.0D, 9.0D, 9.0D), new Box(47.8D, 7.0D, 7.0D, 53.0D, 10.0D, 10.0D)),
+			new Target(new Box(40.0D, 9.0D, 9.0D, 41.0D, 10.0D, 10.0D))
+		);
+		
+		final List<Target> found = walk(targets.toArray(new Target[0]));
+		
+		assertSame(closest(targets), closest(found));
+	}
+	
+	@Test
+	public void stopsWalkingAfterTheSectionOfTheFirstHit()
+	{
+		final Target near = new Target(new Box(20.0D, 8.0D, 8.0D, 21.0D, 9.0D, 9.0D));
+		final Target far = new Target(new Box(80.0D, 8.0D, 8.0D, 81.0D, 9.0D, 9.0D));
+		
+		final List<Target> found = walk(near, far);
+		
+		assertTrue(found.contains(near));
+		assertFalse(found.contains(far));
+	}
+	
+	@Test
+	public void unhittableTargetsDoNotStopTheWalk()
+	{
+		final Target passenger = new Target(new Box(20.0D, 8.0D, 8.0D, 21.0D, 9.0D, 9.0D));
+		final Target far = new Target(new Box(80.0D, 8.0D, 8.0D, 81.0D, 9.0D, 9.0D));
+		
+		final List<Target> found = EntityRaycastUtils.walkSections(START, END, SEARCH_BOX, query(passenger, far), t -> t.raycastBox, t -> t != passenger);
+		
+		assertTrue(found.contains(far));
+	}
+	
+	private static List<Target> walk(final Target... targets)
+	{
+		return EntityRaycastUtils.walkSections(START, END, SEARCH_BOX, query(targets), t -> t.raycastBox, t -> true);
+	}
+	
+	/**
+	 * Finds targets by bounding box, like entity queries do.
+	 */
+	private static Function<Box, List<Target>> query(final Target... targets)
+	{
+		return box ->
+		{
+			final List<Target> results = new ArrayList<>();
+			
+			for (final Target target : targets)
+			{
+				if (target.bounds.intersects(box))
+				{
+					results.add(target);
+				}
+			}
+			
+			return results;
+		};
+	}
+	
+	private static Target closest(final List<Target> targets)
+	{
+		Target closest = null;
+		double closestDistance = Double.POSITIVE_INFINITY;
+		
+		Optional<Vec3d> hit;
+		for (final Target target : targets)
+		{
+			hit = target.raycastBox.raycast(START, END);
+			
+			if (hit.isPresent() && START.squaredDistanceTo(hit.get()) < closestDistance)
+			{
+				closest = target;
+				closestDistance = START.squaredDistanceTo(hit.get());
+			}
+		}
+		
+		return closest;
+	}
+	
+	private static class Target
+	{
+		final Box bounds;
+		final Box raycastBox;
+		
+		Target(final Box bounds)
+		{
+			this(bounds, bounds);
+		}
+		
+		Target(final Box bounds, final Box raycastBox)
+		{
+			this.bounds = bounds;
+			this.raycastBox = raycastBox;
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package virtuoel.pehkui.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+public class PublishedReferenceTest
+{
+	@Test
+	public void readsReturnPublishedValue()
+	{
+		final PublishedReference<String> reference = PublishedReference.create(null);
+		
+		assertNull(reference.get());
+		reference.set("a");
+		assertEquals("a", reference.get());
+	}
+	
+	@Test
+	public void varHandleVersionIsUsedOnJava17()
+	{
+		final String expected = PublishedReference.getJavaFeatureVersion() >= 17 ? "VarHandlePublishedReference" : "VolatilePublishedReference";
+		
+		assertEquals(expected, PublishedReference.create("a").getClass().getSimpleName());
+	}
+}
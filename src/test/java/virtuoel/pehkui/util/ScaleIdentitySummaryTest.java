@@ -0,0 +1,183 @@
+package virtuoel.pehkui.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import org.junit.jupiter.api.Test;
+
+import virtuoel.pehkui.api.ScaleData;
+import virtuoel.pehkui.api.ScaleModifier;
+import virtuoel.pehkui.api.ScaleType;
+import virtuoel.pehkui.api.TypedScaleModifier;
+
+public class ScaleIdentitySummaryTest
+{
+	private final ScaleType base = type(1.0F);
+	private final ScaleType motion = type(1.0F);
+	private final ScaleType width = type(1.0F, new TypedScaleModifier(() -> base));
+	
+	private final Map<ScaleType, ScaleData> scales = new HashMap<>();
+	private final Map<ScaleType, EntityTypeScaleDefaults.Entry> defaults = new HashMap<>();
+	
+	@Test
+	public void unscaledEntitiesHaveNoNonIdentityScales()
+	{
+		scales.put(base, data(1.0F));
+		scales.put(motion, data(1.0F, new ScaleModifier()));
+		
+		assertEquals(0L, compute());
+	}
+	
+	@Test
+	public void scaledBaseScalesAreNonIdentity()
+	{
+		scales.put(motion, data(2.0F));
+		
+		assertEquals(bit(motion), compute() & bit(motion));
+		assertEquals(0L, compute() & bit(base));
+	}
+	
+	@Test
+	public void transitioningScalesAreNonIdentity()
+	{
+		final ScaleData data = data(1.0F);
+		when(data.getTargetScale()).thenReturn(2.0F);
+		scales.put(motion, data);
+		
+		assertEquals(bit(motion), compute() & bit(motion));
+	}
+	
+	@Test
+	public void unknownModifiersAreNonIdentity()
+	{
+		scales.put(motion, data(1.0F, new ScaleModifier()
+		{
+		
+		}));
+		
+		assertEquals(bit(motion), compute() & bit(motion));
+	}
+	
+	@Test
+	public void typedModifierSubclassesAreNonIdentity()
+	{
+		final TypedScaleModifier modifier = new TypedScaleModifier(() -> base)
+		{
+			@Override
+			public float modifyScale(ScaleData scaleData, float modifiedScale, float delta)
+			{
+				return 2.0F;
+			}
+		};
+		
+		assertFalse(modifier.preservesIdentity());
+		assertTrue(new TypedScaleModifier(() -> base).preservesIdentity());
+		assertFalse(new TypedScaleModifier(() -> base, (m, t) -> m + t).preservesIdentity());
+		
+		scales.put(motion, data(1.0F, modifier));
+		
+		assertEquals(bit(motion), compute() & bit(motion));
+	}
+	
+	@Test
+	public void entityTypeDefaultsApplyToTypesWithoutData()
+	{
+		defaults.put(motion, entry(0.5F));
+		
+		assertEquals(bit(motion), compute() & bit(motion));
+		
+		scales.put(motion, data(1.0F));
+		
+		assertEquals(0L, compute());
+	}
+	
+	@Test
+	public void typesWithoutDataUseTheirDefaultBaseScale()
+	{
+		final ScaleType small = type(0.25F);
+		
+		assertEquals(bit(small), ScaleIdentitySummary.compute(Collections.singletonList(small), scales::get, defaults::get));
+	}
+	
+	@Test
+	public void typedDependenciesCountOnlyWhenSomethingIsScaled()
+	{
+		assertEquals(0L, compute() & bit(width));
+		
+		scales.put(base, data(2.0F));
+		
+		assertEquals(bit(base) | bit(width), compute() & (bit(base) | bit(width)));
+		assertEquals(0L, compute() & bit(motion));
+	}
+	
+	@Test
+	public void summariesAreOnlyCurrentForTheirGenerationAndVersion()
+	{
+		final ScaleIdentitySummary.Result result = new ScaleIdentitySummary.Result(5L, 3, 7);
+		
+		assertEquals(5L, result.getNonIdentityScales());
+		assertTrue(result.isCurrent(3, 7));
+		assertFalse(result.isCurrent(4, 7));
+		assertFalse(result.isCurrent(3, 8));
+		assertFalse(ScaleIdentitySummary.Result.STALE.isCurrent(ScaleIdentitySummary.getGeneration(), 0));
+	}
+	
+	private long compute()
+	{
+		return ScaleIdentitySummary.compute(Arrays.asList(base, motion, width), scales::get, defaults::get);
+	}
+	
+	private static long bit(final ScaleType type)
+	{
+		return type.getIdentityBit();
+	}
+	
+	private static ScaleType type(final float defaultBaseScale, final ScaleModifier... defaultModifiers)
+	{
+		final ScaleType type = mock(ScaleType.class);
+		when(type.getIdentityBit()).thenReturn(ScaleIdentitySummary.nextBit());
+		when(type.getDefaultBaseScale()).thenReturn(defaultBaseScale);
+		when(type.getDefaultBaseValueModifiers()).thenReturn(modifiers(defaultModifiers));
+		return type;
+	}
+	
+	private static ScaleData data(final float scale, final ScaleModifier... modifiers)
+	{
+		final ScaleData data = mock(ScaleData.class);
+		when(data.getBaseScale()).thenReturn(scale);
+		when(data.getPrevBaseScale()).thenReturn(scale);
+		when(data.getInitialScale()).thenReturn(scale);
+		when(data.getTargetScale()).thenReturn(scale);
+		when(data.getBaseValueModifiers()).thenReturn(modifiers(modifiers));
+		return data;
+	}
+	
+	private static EntityTypeScaleDefaults.Entry entry(final float baseScale, final ScaleModifier... modifiers)
+	{
+		final EntityTypeScaleDefaults.Entry entry = mock(EntityTypeScaleDefaults.Entry.class);
+		when(entry.getBaseScale()).thenReturn(baseScale);
+		when(entry.getBaseValueModifiers()).thenReturn(modifiers(modifiers));
+		return entry;
+	}
+	
+	/**
+	 * Ordered by identity, since {@link ScaleModifier#compareTo(ScaleModifier)} looks modifiers up in the registry.
+	 */
+	private static SortedSet<ScaleModifier> modifiers(final ScaleModifier... modifiers)
+	{
+		final SortedSet<ScaleModifier> set = new TreeSet<>(Comparator.comparingInt(System::identityHashCode));
+		Collections.addAll(set, modifiers);
+		return set;
+	}
+}
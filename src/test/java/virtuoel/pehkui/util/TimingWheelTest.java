@@ -0,0 +1,169 @@
+package virtuoel.pehkui.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest
+{
+	@Test
+	public void expiresAfterDelay()
+	{
+		final TimingWheel wheel = new TimingWheel();
+		final CountingTimer timer = new CountingTimer();
+		
+		wheel.schedule(timer, 3);
+		
+		tick(wheel, 2);
+		assertEquals(0, timer.expirations);
+		assertEquals(1, timer.getRemainingTicks());
+		
+		wheel.tick();
+		assertEquals(1, timer.expirations);
+		assertEquals(3, timer.expiredAt);
+		assertFalse(timer.isScheduled());
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	public void nonPositiveDelaysExpireOnNextTick()
+	{
+		final TimingWheel wheel = new TimingWheel();
+		final CountingTimer zero = new CountingTimer();
+		final CountingTimer negative = new CountingTimer();
+		
+		wheel.schedule(zero, 0);
+		wheel.schedule(negative, -5);
+		wheel.tick();
+		
+		assertEquals(1, zero.expirations);
+		assertEquals(1, negative.expirations);
+	}
+	
+	@Test
+	public void longDelaysCascadeToTheirExactTick()
+	{
+		final long[] delays = { 63, 64, 65, 4095, 4096, 4097, 300000 };
+		
+		for (final long delay : delays)
+		{
+			final TimingWheel wheel = new TimingWheel();
+			final CountingTimer timer = new CountingTimer();
+			
+			tick(wheel, 17);
+			wheel.schedule(timer, delay);
+			tick(wheel, delay);
+			
+			assertEquals(1, timer.expirations, "delay " + delay);
+			assertEquals(17 + delay, timer.expiredAt, "delay " + delay);
+		}
+	}
+	
+	@Test
+	public void reschedulingRestartsTimer()
+	{
+		final TimingWheel wheel = new TimingWheel();
+		final CountingTimer timer = new CountingTimer();
+		
+		wheel.schedule(timer, 2);
+		wheel.tick();
+		wheel.schedule(timer, 2);
+		wheel.tick();
+		
+		assertEquals(0, timer.expirations);
+		assertEquals(1, wheel.size());
+		
+		wheel.tick();
+		assertEquals(1, timer.expirations);
+	}
+	
+	@Test
+	public void cancelledTimersDoNotExpire()
+	{
+		final TimingWheel wheel = new TimingWheel();
+		final CountingTimer timer = new CountingTimer();
+		
+		wheel.schedule(timer, 1);
+		timer.cancel();
+		
+		assertFalse(timer.isScheduled());
+		assertEquals(0, wheel.size());
+		
+		wheel.tick();
+		assertEquals(0, timer.expirations);
+	}
+	
+	@Test
+	public void timersMayRescheduleThemselvesOnExpiry()
+	{
+		final TimingWheel wheel = new TimingWheel();
+		final CountingTimer timer = new CountingTimer()
+		{
+			@Override
+			protected void onExpired(TimingWheel wheel)
+			{
+				super.onExpired(wheel);
+				
+				if (expirations < 3)
+				{
+					wheel.schedule(this, 2);
+				}
+			}
+		};
+		
+		wheel.schedule(timer, 2);
+		tick(wheel, 10);
+		
+		assertEquals(3, timer.expirations);
+		assertEquals(6, timer.expiredAt);
+		assertEquals(0, wheel.size());
+	}
+	
+	@Test
+	public void schedulingOnAnotherWheelMovesTimer()
+	{
+		final TimingWheel from = new TimingWheel();
+		final TimingWheel to = new TimingWheel();
+		final CountingTimer timer = new CountingTimer();
+		
+		from.schedule(timer, 5);
+		to.schedule(timer, 1);
+		
+		assertEquals(0, from.size());
+		assertEquals(1, to.size());
+		assertTrue(timer.isScheduledOn(to));
+		
+		tick(from, 10);
+		assertEquals(0, timer.expirations);
+		
+		to.tick();
+		assertEquals(1, timer.expirations);
+		assertSame(to, timer.expiredOn);
+	}
+	
+	private static void tick(final TimingWheel wheel, final long ticks)
+	{
+		for (long i = 0; i < ticks; i++)
+		{
+			wheel.tick();
+		}
+	}
+	
+	private static class CountingTimer extends TimingWheel.Timer
+	{
+		int expirations = 0;
+		long expiredAt = -1;
+		TimingWheel expiredOn = null;
+		
+		@Override
+		protected void onExpired(TimingWheel wheel)
+		{
+			expirations++;
+			expiredAt = wheel.getCurrentTick();
+			expiredOn = wheel;
+		}
+	}
+}